@@ -15,25 +15,42 @@
  */
 package org.dbflute.utflute.core;
 
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.dbflute.utflute.core.binding.BindingAnnotationRule;
 import org.dbflute.utflute.core.binding.BindingRuleProvider;
 import org.dbflute.utflute.core.binding.BoundResult;
 import org.dbflute.utflute.core.binding.ComponentBinder;
 import org.dbflute.utflute.core.binding.ComponentProvider;
+import org.dbflute.utflute.core.binding.ComponentSnapshot;
+import org.dbflute.utflute.core.binding.InjectionTimingReport;
+import org.dbflute.utflute.core.container.ContainerFingerprint;
+import org.dbflute.utflute.core.container.ContainerPool;
 import org.dbflute.utflute.core.transaction.TransactionFailureException;
 import org.dbflute.utflute.core.transaction.TransactionResource;
 
 /**
+ * The test case with DI container, which injects components to the test case. <br>
+ * Test methods of different classes can run in parallel only if the container is thread-safe
+ * and the switched current date is thread-confined. (see PlainTestCase)
+ * (the container pool and the resolved component cache are shared safely between threads)
  * @author jflute
  * @since 0.1.2 (2011/09/16 Friday)
  */
 public abstract class InjectionTestCase extends PlainTestCase {
 
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The pool of container shared by test cases in JVM, used if container pool is enabled. (NotNull) */
+    private static final ContainerPool _xcontainerPool = new ContainerPool(4); // no memory limit as default
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -52,6 +69,9 @@ public abstract class InjectionTestCase extends PlainTestCase {
     /** The result of bound component for the test case. (NullAllowed: before binding, after destroy) */
     private BoundResult _xtestCaseBoundResult;
 
+    /** The snapshot of components touched by the test case. (NullAllowed: when no snapshot, after restore) */
+    private ComponentSnapshot _xcomponentSnapshot;
+
     /** The list of injected bound result. (NullAllowed: before binding, after destroy) */
     private List<BoundResult> _xinjectedBoundResultList; // lazy-loaded
 
@@ -61,6 +81,15 @@ public abstract class InjectionTestCase extends PlainTestCase {
     /** The list of non-binding type NOT injected to component. (NullAllowed: when no mock) */
     private List<Class<?>> _xnonBindingTypeList; // lazy-loaded
 
+    // -----------------------------------------------------
+    //                                        Container Pool
+    //                                        --------------
+    /** The fingerprint of container prepared by the pool for the test case. (NullAllowed: when no pool) */
+    private ContainerFingerprint _xpooledFingerprint;
+
+    /** The container prepared by the pool for the test case, also key of resolved component cache. (NullAllowed: when no pool) */
+    private Object _xpooledContainer;
+
     // ===================================================================================
     //                                                                            Settings
     //                                                                            ========
@@ -71,18 +100,49 @@ public abstract class InjectionTestCase extends PlainTestCase {
     public void setUp() throws Exception {
         super.setUp();
 
+        final long containerBefore = System.nanoTime();
         xsetupBeforeContainer();
         xsetupBeforeTestCaseContainer();
         xprepareTestCaseContainer();
         xsetupAfterTestCaseContainer();
 
+        final long injectionBefore = System.nanoTime();
         xsetupBeforeTestCaseInjection();
         xprepareTestCaseInjection();
         xsetupAfterTestCaseInjection();
 
+        final long transactionBefore = System.nanoTime();
         xsetupBeforeTestCaseTransaction();
         xprepareTestCaseTransaction();
         xsetupAfterTestCaseTransaction();
+
+        if (isUseInjectionTimingReport()) {
+            final InjectionTimingReport report = xprepareInjectionTimingReport();
+            report.recordSetUp(getClass(), injectionBefore - containerBefore, transactionBefore - injectionBefore,
+                    System.nanoTime() - transactionBefore);
+            report.recordBoundResult(_xtestCaseBoundResult);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                        setUp() Timing
+    //                                        --------------
+    /**
+     * Does it record timing of setUp() and injection to the report? (written to target at JVM exit) <br>
+     * The report has slowest test classes, fields and components.
+     * e.g. target/utflute/timing/injection-timing.txt
+     * @return The determination, true or false.
+     */
+    protected boolean isUseInjectionTimingReport() { // you can override
+        return false;
+    }
+
+    protected InjectionTimingReport xprepareInjectionTimingReport() {
+        return InjectionTimingReport.prepareJvmReport(xgetInjectionTimingReportFile());
+    }
+
+    protected File xgetInjectionTimingReportFile() { // you can override
+        return new File(getProjectDir(), "target/utflute/timing/injection-timing.txt");
     }
 
     // -----------------------------------------------------
@@ -116,6 +176,21 @@ public abstract class InjectionTestCase extends PlainTestCase {
 
     protected void xprepareTestCaseInjection() {
         _xtestCaseBoundResult = _xtestCaseComponentBinder.bindComponent(this);
+        if (isUseComponentSnapshot()) {
+            _xcomponentSnapshot = new ComponentSnapshot();
+            _xcomponentSnapshot.take(_xtestCaseBoundResult);
+        }
+    }
+
+    /**
+     * Does it restore state of touched components at tear-down? (instead of one-time container?) <br>
+     * The field values of injected components (and targets of nested mock) are snapshot after injection,
+     * and restored at tear-down, so tests that change singleton state can reuse the container.
+     * It is shallow so the contents of mutable objects (e.g. collection) are not restored.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseComponentSnapshot() { // you can override
+        return false;
     }
 
     protected void xsetupAfterTestCaseInjection() {
@@ -156,6 +231,7 @@ public abstract class InjectionTestCase extends PlainTestCase {
         if (!isSuppressTestCaseTransaction()) {
             xrollbackTestCaseTransaction(); // should be tear-down to close transaction when failure 
         }
+        xrestoreComponentSnapshot(); // before reverting injection, reverted values are prior
         xdestroyTestCaseInjection();
         xdestroyTestCaseContainer();
         _xmockInstanceList = null;
@@ -208,6 +284,20 @@ public abstract class InjectionTestCase extends PlainTestCase {
         }
     }
 
+    // -----------------------------------------------------
+    //                                   teatDown() Snapshot
+    //                                   -------------------
+    protected void xrestoreComponentSnapshot() {
+        if (_xcomponentSnapshot == null) {
+            return;
+        }
+        final int restoredCount = _xcomponentSnapshot.restore();
+        if (restoredCount > 0) {
+            log("...Restoring {} field(s) of {} component(s) from snapshot", restoredCount, _xcomponentSnapshot.getComponentCount());
+        }
+        _xcomponentSnapshot = null;
+    }
+
     // -----------------------------------------------------
     //                                  teatDown() Injection
     //                                  --------------------
@@ -225,9 +315,28 @@ public abstract class InjectionTestCase extends PlainTestCase {
     //                                  --------------------
     protected void xdestroyTestCaseContainer() {
         if (isUseOneTimeContainer() || isDestroyContainerAtTearDown()) {
-            xdestroyContainer();
+            xclearResolvedComponentCache(); // before clearing cached container to get the instance
+            if (_xpooledFingerprint != null) { // destroyed by pool's destroyer (after other test cases release it)
+                xgetContainerPool().evictContainer(_xpooledFingerprint);
+            } else {
+                xdestroyContainer();
+            }
             xclearCachedContainer();
+            xclearInjectionPlanCache();
+        }
+        if (_xpooledContainer != null) {
+            xgetContainerPool().releaseContainer(_xpooledContainer); // leased by xprepareContainerByPool()
         }
+        _xpooledFingerprint = null;
+        _xpooledContainer = null;
+    }
+
+    protected void xclearResolvedComponentCache() { // also call it if you destroy container in sub-class
+        ComponentBinder.clearResolvedComponentCache(xprovideResolvedComponentContainer());
+    }
+
+    protected void xclearInjectionPlanCache() { // classes might be reloaded by next container
+        ComponentBinder.clearInjectionPlanCache();
     }
 
     /**
@@ -240,6 +349,91 @@ public abstract class InjectionTestCase extends PlainTestCase {
 
     protected abstract void xclearCachedContainer();
 
+    // -----------------------------------------------------
+    //                                        Container Pool
+    //                                        --------------
+    /**
+     * Does it use the container pool shared by test classes? (boot each configuration once per JVM?) <br>
+     * The sub-class should call xprepareContainerByPool() in xprepareTestCaseContainer() if true.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseContainerPool() { // you can override
+        return false;
+    }
+
+    /**
+     * Prepare the container by the pool, boot it only if the configuration is not pooled yet. <br>
+     * The container is leased until tear-down, so it is not destroyed by other test cases while the test runs.
+     * <pre>
+     * protected void xprepareTestCaseContainer() {
+     *     if (isUseContainerPool()) {
+     *         _xcachedContainer = xprepareContainerByPool(() -&gt; bootContainer(), container -&gt; container.destroy());
+     *     } else {
+     *         ...
+     *     }
+     * }
+     * </pre>
+     * @param <CONTAINER> The type of container.
+     * @param booter The callback to boot new container. (NotNull)
+     * @param destroyer The callback to destroy the container when evicted from the pool. (NotNull)
+     * @return The pooled or new-booted container. (NotNull)
+     */
+    protected <CONTAINER> CONTAINER xprepareContainerByPool(Supplier<CONTAINER> booter, Consumer<CONTAINER> destroyer) {
+        final ContainerFingerprint fingerprint = xbuildContainerFingerprint();
+        final CONTAINER container = xgetContainerPool().prepareContainer(fingerprint, booter, xwrapPooledDestroyer(destroyer));
+        _xpooledFingerprint = fingerprint;
+        _xpooledContainer = container; // also key of resolved component cache
+        return container;
+    }
+
+    protected static <CONTAINER> Consumer<CONTAINER> xwrapPooledDestroyer(Consumer<CONTAINER> destroyer) {
+        return container -> { // evicted container by any test case drops its resolved components
+            ComponentBinder.clearResolvedComponentCache(container);
+            destroyer.accept(container);
+        };
+    }
+
+    /**
+     * Start to boot the container of the pool in background thread, as soon as the test JVM starts. <br>
+     * Call it in static initializer of your base test case, then setUp() waits only for the remaining boot time.
+     * <pre>
+     * public abstract class UnitFooTestCase extends ... {
+     *     static {
+     *         warmUpContainer("foo_app.xml", () -&gt; bootContainer("foo_app.xml"), container -&gt; container.destroy());
+     *     }
+     *     protected String xprovideContainerConfigIdentity() {
+     *         return "foo_app.xml"; <span style="color: #3F7E5E">// same identity as warm-up</span>
+     *     }
+     * }
+     * </pre>
+     * It is effective only when isUseContainerPool() and the default pool is used.
+     * @param <CONTAINER> The type of container.
+     * @param configIdentity The identity of container configuration, same as xprovideContainerConfigIdentity(). (NotNull)
+     * @param booter The callback to boot new container, called in background thread. (NotNull)
+     * @param destroyer The callback to destroy the container when evicted from the pool. (NotNull)
+     */
+    protected static <CONTAINER> void warmUpContainer(String configIdentity, Supplier<CONTAINER> booter, Consumer<CONTAINER> destroyer) {
+        final ContainerFingerprint fingerprint = new ContainerFingerprint(configIdentity, null, null); // no mock at first
+        _xcontainerPool.warmUpContainer(fingerprint, booter, xwrapPooledDestroyer(destroyer));
+    }
+
+    protected ContainerFingerprint xbuildContainerFingerprint() {
+        return new ContainerFingerprint(xprovideContainerConfigIdentity(), _xmockInstanceList, _xnonBindingTypeList);
+    }
+
+    /**
+     * Provide the identity of container configuration for the pool. <br>
+     * You should override it if the test cases use several configurations.
+     * @return The identity of configuration, e.g. config file. (NotNull)
+     */
+    protected String xprovideContainerConfigIdentity() { // you can override
+        return "default";
+    }
+
+    protected ContainerPool xgetContainerPool() { // you can override e.g. to change limits or set memory estimator
+        return _xcontainerPool;
+    }
+
     // ===================================================================================
     //                                                                   Component Binding
     //                                                                   =================
@@ -269,15 +463,53 @@ public abstract class InjectionTestCase extends PlainTestCase {
             public boolean existsComponent(String name) {
                 return hasComponent(name);
             }
+
+            public boolean isSingletonComponent(Class<?> type) {
+                return xisSingletonComponent(type);
+            }
+
+            public boolean isSingletonComponent(String name) {
+                return xisSingletonComponent(name);
+            }
         };
     }
 
+    /**
+     * Is the component of the type singleton in the container? (cached by resolved component cache if true)
+     * @param type The type of component. (NotNull)
+     * @return The determination, true or false.
+     */
+    protected boolean xisSingletonComponent(Class<?> type) { // you can override e.g. by component definition
+        return false; // unknown here so no cache as default
+    }
+
+    /**
+     * Is the component of the name singleton in the container? (cached by resolved component cache if true)
+     * @param name The name of component. (NotNull)
+     * @return The determination, true or false.
+     */
+    protected boolean xisSingletonComponent(String name) { // you can override e.g. by component definition
+        return false; // unknown here so no cache as default
+    }
+
     protected ComponentBinder createTestCaseComponentBinder() { // you can override
         final ComponentBinder binder = xcreateBasicComponentBinder();
         binder.stopBindingAtSuper(InjectionTestCase.class);
         if (isUseTestCaseLooseBinding()) {
             binder.looseBinding();
         }
+        if (isUseTestCaseLazyBinding()) {
+            binder.lazyInterfaceBinding();
+        }
+        if (isUseParallelNestedBinding()) {
+            binder.parallelNestedBinding();
+        }
+        if (isUseInjectionTimingReport()) {
+            binder.recordLookupTiming();
+        }
+        if (isUseTestCaseResolvedComponentCache()) {
+            binder.cacheResolvedComponent(() -> xprovideResolvedComponentContainer());
+        }
         return binder;
     }
 
@@ -285,6 +517,42 @@ public abstract class InjectionTestCase extends PlainTestCase {
         return false;
     }
 
+    /**
+     * Does it inject lazy proxy to fields of interface type for the test case? (resolve component at first call?) <br>
+     * It cuts initialization of heavy components that the test method does not use.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseTestCaseLazyBinding() { // you can override
+        return false;
+    }
+
+    /**
+     * Does it bind nested components of independent branches concurrently? (for both test case and inject()) <br>
+     * It is effective for large component graph with nested mocks, and the order of bound result is kept.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseParallelNestedBinding() { // you can override
+        return false;
+    }
+
+    /**
+     * Does it cache components resolved from the container for the test case? (lookup once per container?) <br>
+     * The cache is kept per container instance and cleared when the container is destroyed.
+     * Only singleton components by xisSingletonComponent() are cached, and registered mocks are found before the cache.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseTestCaseResolvedComponentCache() { // you can override
+        return false;
+    }
+
+    /**
+     * Provide the container instance as key of resolved component cache.
+     * @return The current container instance. (NullAllowed: no cache if null, e.g. container without pool)
+     */
+    protected Object xprovideResolvedComponentContainer() { // you can override e.g. to return cached container
+        return _xpooledContainer;
+    }
+
     // -----------------------------------------------------
     //                                         Register Mock
     //                                         -------------
@@ -335,7 +603,7 @@ public abstract class InjectionTestCase extends PlainTestCase {
         } else {
             filtered = mock;
         }
-        _xmockInstanceList.add(filtered);
+        _xmockInstanceList.add(filtered); // found before resolved component cache so no need to clear it
     }
 
     /**
@@ -418,12 +686,24 @@ public abstract class InjectionTestCase extends PlainTestCase {
             _xinjectedBoundResultList = new ArrayList<BoundResult>(2);
         }
         _xinjectedBoundResultList.add(boundResult);
+        if (isUseInjectionTimingReport()) {
+            xprepareInjectionTimingReport().recordBoundResult(boundResult);
+        }
+        if (_xcomponentSnapshot != null) { // components already taken are not overridden
+            _xcomponentSnapshot.take(boundResult);
+        }
         return boundResult;
     }
 
     protected ComponentBinder createOuterComponentBinder(Object bean) { // you can override
         final ComponentBinder binder = xcreateBasicComponentBinder();
         xadjustOuterComponentBinder(bean, binder);
+        if (isUseParallelNestedBinding()) {
+            binder.parallelNestedBinding();
+        }
+        if (isUseInjectionTimingReport()) {
+            binder.recordLookupTiming();
+        }
         return binder;
     }
 
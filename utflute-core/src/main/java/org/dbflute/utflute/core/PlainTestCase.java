@@ -29,13 +29,17 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TimeZone;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -46,19 +50,25 @@ import org.dbflute.hook.SqlResultHandler;
 import org.dbflute.hook.SqlResultInfo;
 import org.dbflute.system.DBFluteSystem;
 import org.dbflute.system.provider.DfCurrentDateProvider;
+import org.dbflute.utflute.core.assertion.KeywordMatcher;
 import org.dbflute.utflute.core.beanorder.BeanOrderValidator;
 import org.dbflute.utflute.core.beanorder.ExpectedBeanOrderBy;
 import org.dbflute.utflute.core.cannonball.CannonballDirector;
 import org.dbflute.utflute.core.cannonball.CannonballOption;
+import org.dbflute.utflute.core.cannonball.CannonballReport;
 import org.dbflute.utflute.core.cannonball.CannonballRun;
 import org.dbflute.utflute.core.cannonball.CannonballStaff;
 import org.dbflute.utflute.core.dbflute.GatheredExecutedSqlHolder;
+import org.dbflute.utflute.core.dbflute.ThreadConfinedCurrentDateProvider;
 import org.dbflute.utflute.core.exception.ExceptionExaminer;
 import org.dbflute.utflute.core.exception.ExceptionExpectationAfter;
 import org.dbflute.utflute.core.filesystem.FileLineHandler;
 import org.dbflute.utflute.core.filesystem.FilesystemPlayer;
+import org.dbflute.utflute.core.logging.AsyncLogSink;
+import org.dbflute.utflute.core.logging.ShowSampler;
 import org.dbflute.utflute.core.markhere.MarkHereManager;
 import org.dbflute.utflute.core.policestory.PoliceStory;
+import org.dbflute.utflute.core.policestory.classfile.PoliceStoryClassFileHandler;
 import org.dbflute.utflute.core.policestory.javaclass.PoliceStoryJavaClassHandler;
 import org.dbflute.utflute.core.policestory.jspfile.PoliceStoryJspFileHandler;
 import org.dbflute.utflute.core.policestory.miscfile.PoliceStoryMiscFileHandler;
@@ -77,6 +87,10 @@ import org.slf4j.LoggerFactory;
 import junit.framework.TestCase;
 
 /**
+ * The plain test case with useful assertions and helpers. <br>
+ * Test state is kept in the test case instance or the test thread (e.g. AccessContext),
+ * but the switched current date is JVM-wide as default, so test classes that switch it cannot run in parallel
+ * (e.g. parallel=classes of Surefire) unless they override isUseThreadConfinedCurrentDate() to return true.
  * @author jflute
  * @since 0.1.0 (2011/07/24 Sunday)
  */
@@ -92,6 +106,12 @@ public abstract class PlainTestCase extends TestCase {
     // (logging through commons-logging gives us fixed caller...)
     //protected final Logger _xlogger = Logger.getLogger(getClass());
 
+    /** The reusable builder of log message per thread. (value is null while building) */
+    private static final ThreadLocal<StringBuilder> _xlogBuilderLocal = new ThreadLocal<StringBuilder>();
+
+    /** The max capacity of log builder to be reused, larger one is released. */
+    protected static final int LOG_BUILDER_REUSED_CAPACITY = 8192;
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -135,6 +155,7 @@ public abstract class PlainTestCase extends TestCase {
             postTest();
         } catch (Throwable e) { // to record in application log
             log("Failed to finish the test: " + xgetCaseDisp(), e);
+            xflushAsyncLog(); // before reporting the failure
             throw e;
         }
     }
@@ -147,7 +168,11 @@ public abstract class PlainTestCase extends TestCase {
         xclearAccessContextOnThread();
         xclearGatheredExecutedSql();
         xclearSwitchedCurrentDate();
-        xclearMark(); // last process to be able to be used in tearDown()
+        try {
+            xclearMark(); // last process to be able to be used in tearDown()
+        } finally {
+            xflushAsyncLog(); // also logs in tearDown()
+        }
         super.tearDown();
     }
 
@@ -263,7 +288,8 @@ public abstract class PlainTestCase extends TestCase {
     }
 
     /**
-     * Assert that the string contains all keywords.
+     * Assert that the string contains all keywords. <br>
+     * The string is scanned only once for all keywords, and all missing keywords are shown when failure.
      * <pre>
      * String str = "foo";
      * assertContains(str, "fo", "oo"); <span style="color: #3F7E5E">// true</span>
@@ -275,14 +301,16 @@ public abstract class PlainTestCase extends TestCase {
      * @param keywords The array of keyword string. (NotNull)
      */
     protected void assertContainsAll(String str, String... keywords) {
-        if (!Srl.containsAll(str, keywords)) {
+        final List<String> missingList = new KeywordMatcher(keywords, false).findMissingKeywordList(str);
+        if (keywords.length == 0 || !missingList.isEmpty()) { // no keyword fails, same as containsAll() of Srl
             log("Asserted string: " + str); // might be large so show at log
-            fail("the string should have all keywords but not found: " + newArrayList(keywords));
+            fail("the string should have all keywords but not found: " + missingList);
         }
     }
 
     /**
-     * Assert that the string contains all keywords. (ignore case)
+     * Assert that the string contains all keywords. (ignore case) <br>
+     * The string is scanned only once for all keywords, and all missing keywords are shown when failure.
      * <pre>
      * String str = "foo";
      * assertContains(str, "fo", "oo"); <span style="color: #3F7E5E">// true</span>
@@ -294,9 +322,10 @@ public abstract class PlainTestCase extends TestCase {
      * @param keywords The array of keyword string. (NotNull)
      */
     protected void assertContainsAllIgnoreCase(String str, String... keywords) {
-        if (!Srl.containsAllIgnoreCase(str, keywords)) {
+        final List<String> missingList = new KeywordMatcher(keywords, true).findMissingKeywordList(str);
+        if (keywords.length == 0 || !missingList.isEmpty()) { // no keyword fails, same as containsAll() of Srl
             log("Asserted string: " + str); // might be large so show at log
-            fail("the string should have all keywords but not found: " + newArrayList(keywords));
+            fail("the string should have all keywords but not found: " + missingList);
         }
     }
 
@@ -314,7 +343,7 @@ public abstract class PlainTestCase extends TestCase {
      * @param keywords The array of keyword string. (NotNull)
      */
     protected void assertContainsAny(String str, String... keywords) {
-        if (!Srl.containsAny(str, keywords)) {
+        if (!new KeywordMatcher(keywords, false).matchesAny(str)) {
             log("Asserted string: " + str); // might be large so show at log
             fail("the string should have any keyword but not found: " + newArrayList(keywords));
         }
@@ -334,7 +363,7 @@ public abstract class PlainTestCase extends TestCase {
      * @param keywords The array of keyword string. (NotNull)
      */
     protected void assertContainsAnyIgnoreCase(String str, String... keywords) {
-        if (!Srl.containsAnyIgnoreCase(str, keywords)) {
+        if (!new KeywordMatcher(keywords, true).matchesAny(str)) {
             log("Asserted string: " + str); // might be large so show at log
             fail("the string should have any keyword but not found: " + newArrayList(keywords));
         }
@@ -403,7 +432,8 @@ public abstract class PlainTestCase extends TestCase {
     }
 
     /**
-     * Assert that the list has an element containing all keywords.
+     * Assert that the list has an element containing all keywords. <br>
+     * Each element is scanned only once for all keywords, and all missing keywords are shown when failure.
      * <pre>
      * List&lt;String&gt; strList = ...; <span style="color: #3F7E5E">// [foo, bar]</span>
      * assertContainsKeyword(strList, "fo", "ar", "foo"); <span style="color: #3F7E5E">// true</span>
@@ -414,13 +444,12 @@ public abstract class PlainTestCase extends TestCase {
      * @param keywords The array of keyword string. (NotNull)
      */
     protected void assertContainsKeywordAll(Collection<String> strList, String... keywords) {
-        if (!Srl.containsKeywordAll(strList, keywords)) {
-            fail("the list should have all keywords but not found: " + newArrayList(keywords));
-        }
+        xassertContainsKeywordAll("list", strList.iterator(), false, keywords);
     }
 
     /**
-     * Assert that the list has an element containing all keywords. (ignore case)
+     * Assert that the list has an element containing all keywords. (ignore case) <br>
+     * Each element is scanned only once for all keywords, and all missing keywords are shown when failure.
      * <pre>
      * List&lt;String&gt; strList = ...; <span style="color: #3F7E5E">// [foo, bar]</span>
      * assertContainsKeyword(strList, "fo", "ar", "foo"); <span style="color: #3F7E5E">// true</span>
@@ -431,9 +460,7 @@ public abstract class PlainTestCase extends TestCase {
      * @param keywords The array of keyword string. (NotNull)
      */
     protected void assertContainsKeywordAllIgnoreCase(Collection<String> strList, String... keywords) {
-        if (!Srl.containsKeywordAllIgnoreCase(strList, keywords)) {
-            fail("the list should have all keywords (case ignored) but not found: " + newArrayList(keywords));
-        }
+        xassertContainsKeywordAll("list", strList.iterator(), true, keywords);
     }
 
     /**
@@ -448,9 +475,7 @@ public abstract class PlainTestCase extends TestCase {
      * @param keywords The array of keyword string. (NotNull)
      */
     protected void assertContainsKeywordAny(Collection<String> strList, String... keywords) {
-        if (!Srl.containsKeywordAny(strList, keywords)) {
-            fail("the list should have any keyword but not found: " + newArrayList(keywords));
-        }
+        xassertContainsKeywordAny("list", strList.iterator(), false, keywords);
     }
 
     /**
@@ -466,9 +491,7 @@ public abstract class PlainTestCase extends TestCase {
      * @param keywords The array of keyword string. (NotNull)
      */
     protected void assertContainsKeywordAnyIgnoreCase(Collection<String> strList, String... keywords) {
-        if (!Srl.containsKeywordAnyIgnoreCase(strList, keywords)) {
-            fail("the list should have any keyword (case ignored) but not found: " + newArrayList(keywords));
-        }
+        xassertContainsKeywordAny("list", strList.iterator(), true, keywords);
     }
 
     /**
@@ -507,6 +530,247 @@ public abstract class PlainTestCase extends TestCase {
         }
     }
 
+    protected void xassertContainsKeywordAll(String title, Iterator<String> strIte, boolean ignoreCase, String... keywords) {
+        final List<String> missingList = new KeywordMatcher(keywords, ignoreCase).findMissingKeywordList(strIte);
+        if (keywords.length == 0 || !missingList.isEmpty()) { // no keyword fails, same as containsKeywordAll() of Srl
+            final String caseExp = ignoreCase ? " (case ignored)" : "";
+            fail("the " + title + " should have all keywords" + caseExp + " but not found: " + missingList);
+        }
+    }
+
+    protected void xassertContainsKeywordAny(String title, Iterator<String> strIte, boolean ignoreCase, String... keywords) {
+        if (!new KeywordMatcher(keywords, ignoreCase).matchesAny(strIte)) {
+            final String caseExp = ignoreCase ? " (case ignored)" : "";
+            fail("the " + title + " should have any keyword" + caseExp + " but not found: " + newArrayList(keywords));
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                                Stream
+    //                                                ------
+    // stream, iterator and spliterator are consumed only as needed, e.g. stream of cursor select
+    /**
+     * Assert that the stream has an element containing the keyword, stops at the first match. <br>
+     * The stream is closed after that.
+     * <pre>
+     * Stream&lt;String&gt; strStream = ...; <span style="color: #3F7E5E">// foo, bar, ...(millions)</span>
+     * assertContainsKeyword(strStream, "ar"); <span style="color: #3F7E5E">// true, stops at bar</span>
+     * </pre>
+     * @param strStream The stream of string, consumed in this method. (NotNull)
+     * @param keyword The keyword string. (NotNull)
+     */
+    protected void assertContainsKeyword(Stream<String> strStream, String keyword) {
+        try (Stream<String> closed = strStream) {
+            xassertContainsKeyword("stream", closed.iterator(), keyword);
+        }
+    }
+
+    protected void assertContainsKeyword(Iterator<String> strIte, String keyword) {
+        xassertContainsKeyword("iterator", strIte, keyword);
+    }
+
+    protected void assertContainsKeyword(Spliterator<String> strSplit, String keyword) {
+        xassertContainsKeyword("spliterator", Spliterators.iterator(strSplit), keyword);
+    }
+
+    protected void xassertContainsKeyword(String title, Iterator<String> strIte, String keyword) {
+        if (!new KeywordMatcher(new String[] { keyword }, false).matchesAny(strIte)) {
+            fail("the " + title + " should have the keyword but not found: " + keyword);
+        }
+    }
+
+    /**
+     * Assert that the stream has elements containing all keywords, stops when all are found. <br>
+     * The stream is closed after that, and all missing keywords are shown when failure.
+     * @param strStream The stream of string, consumed in this method. (NotNull)
+     * @param keywords The array of keyword string. (NotNull)
+     */
+    protected void assertContainsKeywordAll(Stream<String> strStream, String... keywords) {
+        try (Stream<String> closed = strStream) {
+            xassertContainsKeywordAll("stream", closed.iterator(), false, keywords);
+        }
+    }
+
+    protected void assertContainsKeywordAll(Iterator<String> strIte, String... keywords) {
+        xassertContainsKeywordAll("iterator", strIte, false, keywords);
+    }
+
+    protected void assertContainsKeywordAll(Spliterator<String> strSplit, String... keywords) {
+        xassertContainsKeywordAll("spliterator", Spliterators.iterator(strSplit), false, keywords);
+    }
+
+    protected void assertContainsKeywordAllIgnoreCase(Stream<String> strStream, String... keywords) {
+        try (Stream<String> closed = strStream) {
+            xassertContainsKeywordAll("stream", closed.iterator(), true, keywords);
+        }
+    }
+
+    protected void assertContainsKeywordAllIgnoreCase(Iterator<String> strIte, String... keywords) {
+        xassertContainsKeywordAll("iterator", strIte, true, keywords);
+    }
+
+    protected void assertContainsKeywordAllIgnoreCase(Spliterator<String> strSplit, String... keywords) {
+        xassertContainsKeywordAll("spliterator", Spliterators.iterator(strSplit), true, keywords);
+    }
+
+    /**
+     * Assert that the stream has an element containing any keyword, stops at the first match. <br>
+     * The stream is closed after that.
+     * @param strStream The stream of string, consumed in this method. (NotNull)
+     * @param keywords The array of keyword string. (NotNull)
+     */
+    protected void assertContainsKeywordAny(Stream<String> strStream, String... keywords) {
+        try (Stream<String> closed = strStream) {
+            xassertContainsKeywordAny("stream", closed.iterator(), false, keywords);
+        }
+    }
+
+    protected void assertContainsKeywordAny(Iterator<String> strIte, String... keywords) {
+        xassertContainsKeywordAny("iterator", strIte, false, keywords);
+    }
+
+    protected void assertContainsKeywordAny(Spliterator<String> strSplit, String... keywords) {
+        xassertContainsKeywordAny("spliterator", Spliterators.iterator(strSplit), false, keywords);
+    }
+
+    protected void assertContainsKeywordAnyIgnoreCase(Stream<String> strStream, String... keywords) {
+        try (Stream<String> closed = strStream) {
+            xassertContainsKeywordAny("stream", closed.iterator(), true, keywords);
+        }
+    }
+
+    protected void assertContainsKeywordAnyIgnoreCase(Iterator<String> strIte, String... keywords) {
+        xassertContainsKeywordAny("iterator", strIte, true, keywords);
+    }
+
+    protected void assertContainsKeywordAnyIgnoreCase(Spliterator<String> strSplit, String... keywords) {
+        xassertContainsKeywordAny("spliterator", Spliterators.iterator(strSplit), true, keywords);
+    }
+
+    /**
+     * Assert that the stream has any element (not empty), reads only the first element. <br>
+     * The stream is closed after that.
+     * <pre>
+     * <span style="color: #FD4747">assertHasAnyElement</span>(memberList.stream().filter(...));
+     * </pre>
+     * @param notEmptyStream The stream expected not empty, consumed in this method. (NotNull)
+     */
+    protected void assertHasAnyElement(Stream<?> notEmptyStream) {
+        try (Stream<?> closed = notEmptyStream) {
+            xassertHasAnyElement("stream", closed.spliterator());
+        }
+    }
+
+    protected void assertHasAnyElement(Iterator<?> notEmptyIte) {
+        xassertHasAnyElement("iterator", Spliterators.spliteratorUnknownSize(notEmptyIte, 0));
+    }
+
+    protected void assertHasAnyElement(Spliterator<?> notEmptySplit) {
+        xassertHasAnyElement("spliterator", notEmptySplit);
+    }
+
+    /**
+     * Assert that the stream has the only one element, reads until the second element at most. <br>
+     * The stream is closed after that.
+     * @param lonelyStream The stream expected one element, consumed in this method. (NotNull)
+     */
+    protected void assertHasOnlyOneElement(Stream<?> lonelyStream) {
+        try (Stream<?> closed = lonelyStream) {
+            xassertHasOnlyOneElement("stream", closed.spliterator());
+        }
+    }
+
+    protected void assertHasOnlyOneElement(Iterator<?> lonelyIte) {
+        xassertHasOnlyOneElement("iterator", Spliterators.spliteratorUnknownSize(lonelyIte, 0));
+    }
+
+    protected void assertHasOnlyOneElement(Spliterator<?> lonelySplit) {
+        xassertHasOnlyOneElement("spliterator", lonelySplit);
+    }
+
+    /**
+     * Assert that the stream has plural elements, reads until the second element at most. <br>
+     * The stream is closed after that.
+     * @param crowdedStream The stream expected plural elements, consumed in this method. (NotNull)
+     */
+    protected void assertHasPluralElement(Stream<?> crowdedStream) {
+        try (Stream<?> closed = crowdedStream) {
+            xassertHasPluralElement("stream", closed.spliterator());
+        }
+    }
+
+    protected void assertHasPluralElement(Iterator<?> crowdedIte) {
+        xassertHasPluralElement("iterator", Spliterators.spliteratorUnknownSize(crowdedIte, 0));
+    }
+
+    protected void assertHasPluralElement(Spliterator<?> crowdedSplit) {
+        xassertHasPluralElement("spliterator", crowdedSplit);
+    }
+
+    /**
+     * Assert that the stream has zero element (empty), reads only the first element. <br>
+     * The stream is closed after that.
+     * @param emptyStream The stream expected empty, consumed in this method. (NotNull)
+     */
+    protected void assertHasZeroElement(Stream<?> emptyStream) {
+        try (Stream<?> closed = emptyStream) {
+            xassertHasZeroElement("stream", closed.spliterator());
+        }
+    }
+
+    protected void assertHasZeroElement(Iterator<?> emptyIte) {
+        xassertHasZeroElement("iterator", Spliterators.spliteratorUnknownSize(emptyIte, 0));
+    }
+
+    protected void assertHasZeroElement(Spliterator<?> emptySplit) {
+        xassertHasZeroElement("spliterator", emptySplit);
+    }
+
+    protected void xassertHasAnyElement(String title, Spliterator<?> notEmptySplit) {
+        if (xreadHeadElementList(notEmptySplit, 1).isEmpty()) {
+            fail("the " + title + " should have any element (not empty) but empty.");
+        }
+    }
+
+    protected void xassertHasOnlyOneElement(String title, Spliterator<?> lonelySplit) {
+        final List<Object> headList = xreadHeadElementList(lonelySplit, 2);
+        if (headList.size() != 1) {
+            fail("the " + title + " should have the only one element but: " + xbuildHeadElementExp(headList, 2));
+        }
+    }
+
+    protected void xassertHasPluralElement(String title, Spliterator<?> crowdedSplit) {
+        final List<Object> headList = xreadHeadElementList(crowdedSplit, 2);
+        if (headList.size() < 2) {
+            fail("the " + title + " should have plural elements but: " + xbuildHeadElementExp(headList, 2));
+        }
+    }
+
+    protected void xassertHasZeroElement(String title, Spliterator<?> emptySplit) {
+        final List<Object> headList = xreadHeadElementList(emptySplit, 1);
+        if (!headList.isEmpty()) {
+            fail("the " + title + " should have zero element (empty) but: " + xbuildHeadElementExp(headList, 1));
+        }
+    }
+
+    protected List<Object> xreadHeadElementList(Spliterator<?> spliterator, int limit) { // short-circuit
+        final List<Object> headList = new ArrayList<Object>(limit);
+        while (headList.size() < limit) {
+            if (!spliterator.tryAdvance(element -> headList.add(element))) {
+                break;
+            }
+        }
+        return headList;
+    }
+
+    protected String xbuildHeadElementExp(List<Object> headList, int limit) {
+        final String exp = headList.toString();
+        if (headList.size() < limit) { // all elements were read
+            return exp;
+        }
+        return exp + " (not read further)"; // unknown whether more elements exist or not
+    }
+
     // -----------------------------------------------------
     //                                             Exception
     //                                             ---------
@@ -641,18 +905,18 @@ public abstract class PlainTestCase extends TestCase {
         return xgetMarkHereManager().isMarked(mark);
     }
 
-    protected MarkHereManager xgetMarkHereManager() {
+    protected synchronized MarkHereManager xgetMarkHereManager() { // may be called by cannon-ball cars
         if (_xmarkHereManager == null) {
             _xmarkHereManager = new MarkHereManager();
         }
         return _xmarkHereManager;
     }
 
-    protected boolean xhasMarkHereManager() {
+    protected synchronized boolean xhasMarkHereManager() {
         return _xmarkHereManager != null;
     }
 
-    protected void xdestroyMarkHereManager() {
+    protected synchronized void xdestroyMarkHereManager() {
         _xmarkHereManager = null;
     }
 
@@ -686,6 +950,9 @@ public abstract class PlainTestCase extends TestCase {
         if (msgs == null) {
             throw new IllegalArgumentException("The argument 'msgs' should not be null.");
         }
+        if (!_xlogger.isDebugEnabled()) { // no building message (and reserved title is not needed)
+            return;
+        }
         Throwable cause = null;
         final int arrayLength = msgs.length;
         if (arrayLength > 0) {
@@ -694,63 +961,99 @@ public abstract class PlainTestCase extends TestCase {
                 cause = (Throwable) lastElement;
             }
         }
-        final StringBuilder sb = new StringBuilder();
-        int index = 0;
-        int skipCount = 0;
-        for (Object msg : msgs) {
-            if (index == arrayLength - 1 && cause != null) { // last loop and it is cause
-                break;
-            }
-            if (skipCount > 0) { // already resolved as variable
-                --skipCount; // until count zero
-                continue;
-            }
-            if (sb.length() > 0) {
-                sb.append(", ");
-            }
-            final String appended;
-            if (msg instanceof Timestamp) {
-                appended = toString(msg, "yyyy/MM/dd HH:mm:ss.SSS");
-            } else if (msg instanceof Date) {
-                appended = toString(msg, "yyyy/MM/dd");
-            } else {
-                String strMsg = msg != null ? msg.toString() : null;
-                int nextIndex = index + 1;
-                skipCount = 0; // just in case
-                while (strMsg != null && strMsg.contains("{}")) {
-                    if (arrayLength <= nextIndex) {
-                        break;
-                    }
-                    final Object nextObj = msgs[nextIndex];
-                    final String replacement;
-                    if (nextObj != null) {
-                        // escape two special characters of replaceFirst() to avoid illegal group reference
-                        replacement = Srl.replace(Srl.replace(nextObj.toString(), "\\", "\\\\"), "$", "\\$");
-                    } else {
-                        replacement = "null";
-                    }
-                    strMsg = strMsg.replaceFirst("\\{\\}", replacement);
-                    ++skipCount;
-                    ++nextIndex;
-                }
-                appended = strMsg;
-            }
-            sb.append(appended);
-            ++index;
-        }
-        final String msg = sb.toString();
+        final String msg = xbuildLogMessage(msgs, cause != null ? arrayLength - 1 : arrayLength); // cause can be variable
         if (_xreservedTitle != null) {
-            _xlogger.debug("");
-            _xlogger.debug(_xreservedTitle);
+            xwriteLog("", null);
+            xwriteLog(_xreservedTitle, null);
             _xreservedTitle = null;
         }
+        xwriteLog(msg, cause);
+        // see comment for logger definition for the detail
+        //_xlogger.log(PlainTestCase.class.getName(), Level.DEBUG, msg, cause);
+    }
+
+    protected void xwriteLog(String msg, Throwable cause) {
+        if (isUseAsyncLogging()) {
+            xgetAsyncLogSink().enqueue(_xlogger, msg, cause);
+            return;
+        }
         if (cause != null) {
             _xlogger.debug(msg, cause);
         } else {
             _xlogger.debug(msg);
         }
-        // see comment for logger definition for the detail
-        //_xlogger.log(PlainTestCase.class.getName(), Level.DEBUG, msg, cause);
+    }
+
+    /**
+     * Does it write log asynchronously by background writer? (e.g. for showList() of huge list) <br>
+     * The lines are flushed at tear-down (and when the test fails), so logs of the test case are complete after it.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseAsyncLogging() { // you can override
+        return false;
+    }
+
+    protected AsyncLogSink xgetAsyncLogSink() {
+        return AsyncLogSink.getJvmSink();
+    }
+
+    protected void xflushAsyncLog() {
+        if (isUseAsyncLogging()) {
+            xgetAsyncLogSink().flush();
+        }
+    }
+
+    protected String xbuildLogMessage(Object[] msgs, int messageLength) {
+        final StringBuilder cached = _xlogBuilderLocal.get();
+        final StringBuilder sb = cached != null ? cached : new StringBuilder(128);
+        _xlogBuilderLocal.set(null); // for re-entrant call e.g. log() in toString()
+        try {
+            int index = 0;
+            while (index < messageLength) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                final Object msg = msgs[index];
+                ++index;
+                if (msg instanceof Timestamp) {
+                    sb.append(toString(msg, "yyyy/MM/dd HH:mm:ss.SSS"));
+                } else if (msg instanceof Date) {
+                    sb.append(toString(msg, "yyyy/MM/dd"));
+                } else if (msg != null) {
+                    index = xappendLogPlaceholder(sb, msg.toString(), msgs, index);
+                } else {
+                    sb.append((String) null);
+                }
+            }
+            return sb.toString();
+        } finally {
+            sb.setLength(0);
+            if (sb.capacity() <= LOG_BUILDER_REUSED_CAPACITY) { // not to keep huge buffer
+                _xlogBuilderLocal.set(sb);
+            }
+        }
+    }
+
+    /**
+     * Append the message resolving "{}" placeholders by following elements, in single pass.
+     * @param sb The builder of whole message. (NotNull)
+     * @param strMsg The message that may contain placeholders. (NotNull)
+     * @param msgs The array of messages. (NotNull)
+     * @param nextIndex The index of the next element of the message.
+     * @return The index of next message, skipping elements used as placeholder variables.
+     */
+    protected int xappendLogPlaceholder(StringBuilder sb, String strMsg, Object[] msgs, int nextIndex) {
+        int current = nextIndex;
+        int copiedIndex = 0;
+        int placeholderIndex;
+        while (current < msgs.length && (placeholderIndex = strMsg.indexOf("{}", copiedIndex)) >= 0) {
+            sb.append(strMsg, copiedIndex, placeholderIndex);
+            sb.append(msgs[current]); // "null" if null
+            copiedIndex = placeholderIndex + 2;
+            ++current;
+        }
+        sb.append(strMsg, copiedIndex, strMsg.length()); // remaining placeholders are kept
+        return current;
     }
 
     // ===================================================================================
@@ -778,6 +1081,74 @@ public abstract class PlainTestCase extends TestCase {
         }
     }
 
+    // -----------------------------------------------------
+    //                                             Streaming
+    //                                             ---------
+    /**
+     * Show the elements of the iterable with head/tail sampling, without materializing all elements.
+     * <pre>
+     * <span style="color: #FD4747">showIterable</span>(memberList); <span style="color: #3F7E5E">// head and tail elements with summary line</span>
+     * </pre>
+     * @param iterable The iterable of elements. (NotNull)
+     */
+    protected void showIterable(Iterable<?> iterable) {
+        assertNotNull(iterable);
+        xshowSampled("[iterable]", iterable.iterator());
+    }
+
+    /**
+     * Show the elements of the stream with head/tail sampling, the stream is closed after that.
+     * <pre>
+     * <span style="color: #FD4747">showStream</span>(memberList.stream().filter(...));
+     * </pre>
+     * @param stream The stream of elements, consumed in this method. (NotNull)
+     */
+    protected void showStream(Stream<?> stream) {
+        assertNotNull(stream);
+        try (Stream<?> closed = stream) {
+            xshowSampled("[stream]", closed.iterator());
+        }
+    }
+
+    /**
+     * Show the elements of the cursor callback with head/tail sampling, e.g. cursor select of DBFlute.
+     * <pre>
+     * <span style="color: #FD4747">showCursor</span>(handler -&gt; memberBhv.selectCursor(cb -&gt; {
+     *     cb.query().addOrderBy_MemberId_Asc();
+     * }, member -&gt; handler.accept(member)));
+     * </pre>
+     * @param <ELEMENT> The type of element.
+     * @param cursorCall The callback of cursor, which calls the handler per element. (NotNull)
+     */
+    protected <ELEMENT> void showCursor(Consumer<Consumer<ELEMENT>> cursorCall) {
+        assertNotNull(cursorCall);
+        log("[cursor]");
+        final ShowSampler sampler = xcreateShowSampler();
+        cursorCall.accept(element -> sampler.add(element));
+        sampler.finish();
+    }
+
+    protected void xshowSampled(String title, Iterator<?> iterator) {
+        log(title);
+        final ShowSampler sampler = xcreateShowSampler();
+        while (iterator.hasNext()) {
+            sampler.add(iterator.next());
+        }
+        sampler.finish();
+    }
+
+    protected ShowSampler xcreateShowSampler() {
+        return new ShowSampler(line -> log(line), xgetShowHeadLimit(), xgetShowTailLimit());
+    }
+
+    protected int xgetShowHeadLimit() { // you can override
+        return 100;
+    }
+
+    protected int xgetShowTailLimit() { // you can override
+        return 10;
+    }
+
     // ===================================================================================
     //                                                                       String Helper
     //                                                                       =============
@@ -1065,11 +1436,12 @@ public abstract class PlainTestCase extends TestCase {
      * </pre>
      * @param run The callback for the run. (NotNull)
      * @param option The option for the run. (NotNull)
+     * @return The report of the run, latency histograms and throughput. (NotNull)
      */
-    protected void cannonball(CannonballRun run, CannonballOption option) {
+    protected CannonballReport cannonball(CannonballRun run, CannonballOption option) {
         assertNotNull(run);
         assertNotNull(option);
-        createCannonballDirector().readyGo(run, option);
+        return createCannonballDirector().readyGo(run, option);
     }
 
     /**
@@ -1170,6 +1542,24 @@ public abstract class PlainTestCase extends TestCase {
         createPoliceStory().chaseJavaClass(handler);
     }
 
+    /**
+     * Tell me about your police story of class file chase. (default: '.class' files under target/classes) <br>
+     * The class files are parsed without class loading, so static initializers are not executed.
+     * <pre>
+     * policeStoryOfClassFileChase(new PoliceStoryClassFileHandler() {
+     *     public void handle(File classFile, PoliceStoryClassDescriptor descriptor) {
+     *         <span style="color: #3F7E5E">// handle the class as you like it</span>
+     *         <span style="color: #3F7E5E">// e.g. descriptor.getSuperClassName(), descriptor.getReferencedTypeSet()</span>
+     *     }
+     * });
+     * </pre>
+     * @param handler The handler of class file. (NotNull)
+     */
+    public void policeStoryOfClassFileChase(PoliceStoryClassFileHandler handler) {
+        assertNotNull(handler);
+        createPoliceStory().chaseClassFile(handler);
+    }
+
     /**
      * Tell me about your police story of JSP file chase. (default: '.jsp' files under src/main/webapp)
      * <pre>
@@ -1381,8 +1771,19 @@ public abstract class PlainTestCase extends TestCase {
     // -----------------------------------------------------
     //                                         DBFluteSystem
     //                                         -------------
+    /**
+     * Switch current date of DBFluteSystem for the test case. <br>
+     * The switched date is JVM-wide as default, so all threads (also existing pool threads) see it.
+     * If isUseThreadConfinedCurrentDate(), it is confined to the test thread (and threads created by it).
+     * @param dateTimeSupplier The supplier of current date-time. (NotNull)
+     */
     protected void switchCurrentDate(Supplier<LocalDateTime> dateTimeSupplier) {
         assertNotNull(dateTimeSupplier);
+        if (isUseThreadConfinedCurrentDate()) {
+            ThreadConfinedCurrentDateProvider.switchOnThread(dateTimeSupplier);
+            _xuseSwitchedCurrentDate = true;
+            return;
+        }
         if (DBFluteSystem.hasCurrentDateProvider()) {
             String msg = "The current date provider already exists, cannot use new provider: " + dateTimeSupplier;
             throw new IllegalStateException(msg);
@@ -1398,10 +1799,26 @@ public abstract class PlainTestCase extends TestCase {
         });
     }
 
+    /**
+     * Does it confine the switched current date to the test thread? (for test cases running in parallel) <br>
+     * Existing threads, e.g. pooled executor threads created before the switch, do not see the switched date. <br>
+     * And threads created while switched inherit it, so lazily-created pool threads also run other test's tasks
+     * with the switched date until the test clears it. Use it only when the test cases run in parallel.
+     * @return The determination, true or false.
+     */
+    protected boolean isUseThreadConfinedCurrentDate() { // you can override
+        return false;
+    }
+
     protected void xclearSwitchedCurrentDate() {
         if (_xuseSwitchedCurrentDate) {
-            DBFluteSystem.unlock();
-            DBFluteSystem.setCurrentDateProvider(null);
+            if (isUseThreadConfinedCurrentDate()) {
+                ThreadConfinedCurrentDateProvider.clearOnThread();
+            } else {
+                DBFluteSystem.unlock();
+                DBFluteSystem.setCurrentDateProvider(null);
+            }
+            _xuseSwitchedCurrentDate = false;
         }
     }
 
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.assertion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * The matcher of multiple keywords by Aho-Corasick automaton, which scans the text only once for all keywords. <br>
+ * The ignore-case is folded per character when scanning, so no lower-cased copy of the text is created.
+ * <pre>
+ * KeywordMatcher matcher = new KeywordMatcher(new String[] { "sea", "land", "piari" }, false);
+ * matcher.findMissingKeywordList("over the sea"); <span style="color: #3F7E5E">// [land, piari]</span>
+ * matcher.matchesAny("over the land"); <span style="color: #3F7E5E">// true</span>
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class KeywordMatcher {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int ROOT_NODE = 0;
+    protected static final int NO_NODE = -1;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String[] _keywords;
+    protected final boolean _ignoreCase;
+    protected final char[][] _labelArray; // sorted child characters per node
+    protected final int[][] _childArray; // child nodes per node, same index as label
+    protected final int[] _failureArray; // longest proper suffix node per node
+    protected final int[] _outputLinkArray; // nearest suffix node having keywords, or no node
+    protected final int[][] _outputArray; // keyword indexes ending at the node
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param keywords The array of keyword string. (NotNull, NotNullElement, EmptyElementAllowed)
+     * @param ignoreCase Does it match the keywords as case-insensitive?
+     */
+    public KeywordMatcher(String[] keywords, boolean ignoreCase) {
+        if (keywords == null) {
+            throw new IllegalArgumentException("The argument 'keywords' should not be null.");
+        }
+        _keywords = keywords.clone();
+        _ignoreCase = ignoreCase;
+        final List<TreeMap<Character, Integer>> trieList = buildTrie();
+        final int nodeCount = trieList.size();
+        _labelArray = new char[nodeCount][];
+        _childArray = new int[nodeCount][];
+        for (int node = 0; node < nodeCount; node++) {
+            final TreeMap<Character, Integer> childMap = trieList.get(node);
+            final char[] labels = new char[childMap.size()];
+            final int[] children = new int[childMap.size()];
+            int index = 0;
+            for (Entry<Character, Integer> entry : childMap.entrySet()) {
+                labels[index] = entry.getKey();
+                children[index] = entry.getValue();
+                ++index;
+            }
+            _labelArray[node] = labels;
+            _childArray[node] = children;
+        }
+        _outputArray = buildOutput(nodeCount);
+        _failureArray = new int[nodeCount];
+        _outputLinkArray = new int[nodeCount];
+        buildFailure();
+    }
+
+    protected List<TreeMap<Character, Integer>> buildTrie() {
+        final List<TreeMap<Character, Integer>> trieList = new ArrayList<TreeMap<Character, Integer>>();
+        trieList.add(new TreeMap<Character, Integer>()); // root
+        for (int i = 0; i < _keywords.length; i++) {
+            final String keyword = _keywords[i];
+            if (keyword == null) {
+                throw new IllegalArgumentException("The element of keywords should not be null: index=" + i);
+            }
+            int node = ROOT_NODE;
+            for (int j = 0; j < keyword.length(); j++) {
+                final Character label = foldCase(keyword.charAt(j));
+                final Map<Character, Integer> childMap = trieList.get(node);
+                Integer child = childMap.get(label);
+                if (child == null) {
+                    child = trieList.size();
+                    childMap.put(label, child);
+                    trieList.add(new TreeMap<Character, Integer>());
+                }
+                node = child;
+            }
+        }
+        return trieList;
+    }
+
+    protected int[][] buildOutput(int nodeCount) {
+        final List<List<Integer>> outputList = new ArrayList<List<Integer>>(nodeCount);
+        for (int node = 0; node < nodeCount; node++) {
+            outputList.add(new ArrayList<Integer>(1));
+        }
+        for (int i = 0; i < _keywords.length; i++) { // duplicate keywords end at the same node
+            outputList.get(walkTrie(_keywords[i])).add(i);
+        }
+        final int[][] outputArray = new int[nodeCount][];
+        for (int node = 0; node < nodeCount; node++) {
+            final List<Integer> indexList = outputList.get(node);
+            final int[] indexes = new int[indexList.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = indexList.get(i);
+            }
+            outputArray[node] = indexes;
+        }
+        return outputArray;
+    }
+
+    protected int walkTrie(String keyword) {
+        int node = ROOT_NODE;
+        for (int i = 0; i < keyword.length(); i++) {
+            node = findChild(node, foldCase(keyword.charAt(i)));
+        }
+        return node;
+    }
+
+    protected void buildFailure() { // breadth-first so that shallower failures are already fixed
+        final ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+        _failureArray[ROOT_NODE] = ROOT_NODE;
+        _outputLinkArray[ROOT_NODE] = NO_NODE;
+        for (int child : _childArray[ROOT_NODE]) {
+            _failureArray[child] = ROOT_NODE;
+            _outputLinkArray[child] = NO_NODE; // root keyword (empty) is handled separately
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            final int node = queue.poll();
+            final char[] labels = _labelArray[node];
+            final int[] children = _childArray[node];
+            for (int i = 0; i < labels.length; i++) {
+                final int child = children[i];
+                int failure = _failureArray[node];
+                int next;
+                while ((next = findChild(failure, labels[i])) == NO_NODE && failure != ROOT_NODE) {
+                    failure = _failureArray[failure];
+                }
+                final int childFailure = next != NO_NODE ? next : ROOT_NODE;
+                _failureArray[child] = childFailure;
+                final boolean failureHasOutput = childFailure != ROOT_NODE && _outputArray[childFailure].length > 0;
+                _outputLinkArray[child] = failureHasOutput ? childFailure : _outputLinkArray[childFailure];
+                queue.add(child);
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Match
+    //                                                                               =====
+    /**
+     * Find the keywords not contained in the text.
+     * @param text The text to be scanned. (NotNull)
+     * @return The list of missing keywords in registered order. (NotNull, EmptyAllowed: when all found)
+     */
+    public List<String> findMissingKeywordList(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("The argument 'text' should not be null.");
+        }
+        final boolean[] foundFlags = new boolean[_keywords.length];
+        scan(text, foundFlags, _keywords.length, 0);
+        return extractMissingKeywordList(foundFlags);
+    }
+
+    /**
+     * Find the keywords not contained in any text. <br>
+     * The keyword is matched in each text, not across texts. And it stops when all keywords are found.
+     * @param textIte The iterator of text to be scanned. (NotNull, NullElementAllowed: matches nothing)
+     * @return The list of missing keywords in registered order. (NotNull, EmptyAllowed: when all found)
+     */
+    public List<String> findMissingKeywordList(Iterator<? extends CharSequence> textIte) {
+        final boolean[] foundFlags = new boolean[_keywords.length];
+        int remainingCount = _keywords.length;
+        while (remainingCount > 0 && textIte.hasNext()) {
+            final CharSequence text = textIte.next();
+            if (text != null) { // null matches nothing, same as containsKeywordAll() of Srl
+                remainingCount = scan(text, foundFlags, remainingCount, 0);
+            }
+        }
+        return extractMissingKeywordList(foundFlags);
+    }
+
+    /**
+     * Does the text contain any keyword? (stops at the first match)
+     * @param text The text to be scanned. (NotNull)
+     * @return The determination, true or false. (false if no keyword)
+     */
+    public boolean matchesAny(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("The argument 'text' should not be null.");
+        }
+        final int keywordCount = _keywords.length;
+        return keywordCount > 0 && scan(text, new boolean[keywordCount], keywordCount, keywordCount - 1) < keywordCount;
+    }
+
+    /**
+     * Does any text contain any keyword? (stops at the first match)
+     * @param textIte The iterator of text to be scanned. (NotNull, NullElementAllowed: matches nothing)
+     * @return The determination, true or false. (false if no keyword)
+     */
+    public boolean matchesAny(Iterator<? extends CharSequence> textIte) {
+        final int keywordCount = _keywords.length;
+        if (keywordCount == 0) {
+            return false;
+        }
+        final boolean[] foundFlags = new boolean[keywordCount];
+        while (textIte.hasNext()) {
+            final CharSequence text = textIte.next();
+            if (text != null && scan(text, foundFlags, keywordCount, keywordCount - 1) < keywordCount) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param text The text to be scanned. (NotNull)
+     * @param foundFlags The flags of found keywords, updated in this method. (NotNull)
+     * @param remainingCount The count of keywords not found yet.
+     * @param stopCount The remaining count to stop scanning, e.g. zero means all found.
+     * @return The remaining count after scanning.
+     */
+    protected int scan(CharSequence text, boolean[] foundFlags, int remainingCount, int stopCount) {
+        int remaining = markOutput(ROOT_NODE, foundFlags, remainingCount); // empty keyword
+        final int length = text.length();
+        int node = ROOT_NODE;
+        for (int i = 0; i < length && remaining > stopCount; i++) {
+            final char ch = foldCase(text.charAt(i));
+            int next;
+            while ((next = findChild(node, ch)) == NO_NODE && node != ROOT_NODE) {
+                node = _failureArray[node];
+            }
+            node = next != NO_NODE ? next : ROOT_NODE;
+            int output = _outputArray[node].length > 0 ? node : _outputLinkArray[node];
+            while (output != NO_NODE) { // keywords ending here, including suffix ones
+                remaining = markOutput(output, foundFlags, remaining);
+                output = _outputLinkArray[output];
+            }
+        }
+        return remaining;
+    }
+
+    protected int markOutput(int node, boolean[] foundFlags, int remainingCount) {
+        int remaining = remainingCount;
+        for (int index : _outputArray[node]) {
+            if (!foundFlags[index]) {
+                foundFlags[index] = true;
+                --remaining;
+            }
+        }
+        return remaining;
+    }
+
+    protected int findChild(int node, char ch) {
+        final char[] labels = _labelArray[node];
+        int low = 0;
+        int high = labels.length - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final char label = labels[middle];
+            if (label < ch) {
+                low = middle + 1;
+            } else if (label > ch) {
+                high = middle - 1;
+            } else {
+                return _childArray[node][middle];
+            }
+        }
+        return NO_NODE;
+    }
+
+    protected char foldCase(char ch) { // same as String.regionMatches() of ignore-case
+        return _ignoreCase ? Character.toLowerCase(Character.toUpperCase(ch)) : ch;
+    }
+
+    protected List<String> extractMissingKeywordList(boolean[] foundFlags) {
+        final List<String> missingList = new ArrayList<String>();
+        for (int i = 0; i < foundFlags.length; i++) {
+            if (!foundFlags[i]) {
+                missingList.add(_keywords[i]);
+            }
+        }
+        return missingList;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public boolean isIgnoreCase() {
+        return _ignoreCase;
+    }
+}
@@ -34,6 +34,7 @@ public class BoundResult {
     protected final List<BoundField> _boundFieldList = new ArrayList<BoundField>();
     protected final List<BoundProperty> _boundPropertyList = new ArrayList<BoundProperty>();
     protected final List<BoundResult> _nestedBoundResultList = new ArrayList<BoundResult>();
+    protected final List<BoundLookup> _boundLookupList = new ArrayList<BoundLookup>(); // for timing report
 
     // ===================================================================================
     //                                                                         Constructor
@@ -90,6 +91,57 @@ public class BoundResult {
         }
     }
 
+    public static class BoundLookup {
+
+        protected final Class<?> ownerType; // bean class of both field and property
+        protected final String propertyName;
+        protected final Class<?> componentType; // null allowed: when not found
+        protected final long lookupNanos; // containing nested binding
+
+        public BoundLookup(Class<?> ownerType, String propertyName, Class<?> componentType, long lookupNanos) {
+            this.ownerType = ownerType;
+            this.propertyName = propertyName;
+            this.componentType = componentType;
+            this.lookupNanos = lookupNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "boundLookup:{" + ownerType.getSimpleName() + "." + propertyName + ", " + lookupNanos + "ns}";
+        }
+
+        public Class<?> getOwnerType() {
+            return ownerType;
+        }
+
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        public Class<?> getComponentType() {
+            return componentType;
+        }
+
+        public long getLookupNanos() {
+            return lookupNanos;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Lookup Time
+    //                                                                         ===========
+    /**
+     * Get the total time to look up components, containing nested binding.
+     * @return The nanoseconds of lookup time.
+     */
+    public long getTotalLookupNanos() {
+        long total = 0;
+        for (BoundLookup lookup : _boundLookupList) {
+            total += lookup.getLookupNanos();
+        }
+        return total;
+    }
+
     // ===================================================================================
     //                                                                      Basic Override
     //                                                                      ==============
@@ -140,4 +192,12 @@ public class BoundResult {
     public void addNestedBoundResultAll(List<BoundResult> nestedBoundResultList) {
         _nestedBoundResultList.addAll(nestedBoundResultList);
     }
+
+    public List<BoundLookup> getBoundLookupList() {
+        return _boundLookupList;
+    }
+
+    public void addBoundLookup(Class<?> ownerType, String propertyName, Object component, long lookupNanos) {
+        _boundLookupList.add(new BoundLookup(ownerType, propertyName, component != null ? component.getClass() : null, lookupNanos));
+    }
 }
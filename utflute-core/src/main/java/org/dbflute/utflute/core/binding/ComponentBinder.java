@@ -19,10 +19,23 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 import javax.annotation.Resource;
 
@@ -32,8 +45,9 @@ import org.dbflute.helper.beans.factory.DfBeanDescFactory;
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.dbflute.utflute.core.binding.BoundResult.BoundField;
 import org.dbflute.utflute.core.binding.BoundResult.BoundProperty;
+import org.dbflute.utflute.core.binding.ComponentInjectionPlan.FieldInjection;
+import org.dbflute.utflute.core.binding.ComponentInjectionPlan.PropertyInjection;
 import org.dbflute.util.DfCollectionUtil;
-import org.dbflute.util.DfReflectionUtil;
 import org.dbflute.util.Srl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +63,20 @@ public class ComponentBinder {
     //                                                                          ==========
     private static final Logger _logger = LoggerFactory.getLogger(ComponentBinder.class);
 
+    /** The cache of injection plan keyed by bean type and binder options, shared in JVM. (NotNull) */
+    private static final ConcurrentMap<List<Object>, ComponentInjectionPlan> _injectionPlanMap =
+            new ConcurrentHashMap<List<Object>, ComponentInjectionPlan>();
+
+    /** The limit count of cached injection plans, all cleared when over, e.g. classes reloaded many times. */
+    protected static final int INJECTION_PLAN_CACHE_LIMIT = 4096;
+
+    /** The cache of component resolved by name or type per container instance, weak key for rebooted container. (NotNull) */
+    private static final Map<Object, ConcurrentMap<Object, Object>> _resolvedComponentContainerMap =
+            Collections.synchronizedMap(new WeakHashMap<Object, ConcurrentMap<Object, Object>>());
+
+    /** The pool dedicated to parallel nested binding, not to occupy the common pool used by application. (NotNull) */
+    private static final ForkJoinPool _nestedBindingPool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -60,9 +88,20 @@ public class ComponentBinder {
     protected boolean _byTypeInterfaceOnly; // e.g. for Seasar
     protected boolean _looseBinding; // for test-case class
     protected boolean _overridingBinding; // for nested binding
+    protected boolean _resolvedComponentCache; // for test-case class, singleton components only
+    protected Supplier<Object> _resolvedComponentContainerProvider; // null allowed: when no cache
+    protected boolean _lazyInterfaceBinding; // for test-case class, proxy resolves component at first call
+    protected boolean _parallelNestedBinding; // for large component graph, not inherited to nested binders
+    protected boolean _lookupTimingRecord; // for injection timing report, not inherited to nested binders
     protected final List<Object> _mockInstanceList = DfCollectionUtil.newArrayList();
     protected final List<Class<?>> _nonBindingTypeList = DfCollectionUtil.newArrayList();
     protected final Map<Class<?>, Object> _nestedBindingMap = DfCollectionUtil.newHashMap();
+    protected final Map<BoundResult, List<InjectedComponentContainer>> _deferredNestedMap = // while binding in parallel mode
+            new ConcurrentHashMap<BoundResult, List<InjectedComponentContainer>>(); // key is identity
+    protected final boolean _legacyFieldBinding; // sub-class overrides field binding methods before injection plan
+    protected final boolean _legacyPropertyBinding; // same as field
+    protected final boolean _legacyFinding; // sub-class overrides findInjectedComponent() without finding type
+    protected final boolean _legacyDoFinding; // sub-class overrides doFindInjectedComponent() without finding type
 
     // ===================================================================================
     //                                                                         Constructor
@@ -71,6 +110,24 @@ public class ComponentBinder {
         _componentProvider = componentProvider;
         _bindingAnnotationProvider = bindingAnnotationProvider;
         _bindingAnnotationRuleMap = _bindingAnnotationProvider.provideBindingAnnotationRuleMap(); // cached
+        _legacyFieldBinding = overridesLegacyHook("doBindFieldComponent", Object.class, BoundResult.class)
+                || overridesLegacyHook("fireFieldBinding", Object.class, Field.class, BoundResult.class)
+                || overridesLegacyHook("extractExistingFieldValue", Object.class, Field.class);
+        _legacyPropertyBinding = overridesLegacyHook("doBindPropertyComponent", Object.class, BoundResult.class)
+                || overridesLegacyHook("firePropertyBinding", Object.class, DfBeanDesc.class, String.class, BoundResult.class);
+        _legacyFinding = overridesLegacyHook("findInjectedComponent", String.class, Class.class, Annotation.class, BoundResult.class);
+        _legacyDoFinding = overridesLegacyHook("doFindInjectedComponent", String.class, Class.class, Annotation.class);
+    }
+
+    protected boolean overridesLegacyHook(String methodName, Class<?>... parameterTypes) { // for compatible
+        for (Class<?> clazz = getClass(); clazz != null && clazz != ComponentBinder.class; clazz = clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod(methodName, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException continued) { // not overridden at the class
+            }
+        }
+        return false;
     }
 
     // ===================================================================================
@@ -112,6 +169,69 @@ public class ComponentBinder {
         _overridingBinding = false;
     }
 
+    /**
+     * Cache the components resolved from the provider per container instance. <br>
+     * Only components that the provider reports as singleton are cached, and mock instances are always found before the cache.
+     * Not-found is not cached, because the component may be registered after that.
+     * The cache is not inherited to nested binders, and you should clear it by clearResolvedComponentCache(container)
+     * when the container is destroyed. (rebooted container is new instance so it does not hit the old cache anyway)
+     * @param containerProvider The provider of current container instance as cache key, returning null means no cache. (NotNull)
+     */
+    public void cacheResolvedComponent(Supplier<Object> containerProvider) {
+        if (containerProvider == null) {
+            String msg = "The argument 'containerProvider' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _resolvedComponentCache = true;
+        _resolvedComponentContainerProvider = containerProvider;
+    }
+
+    public void cancelCacheResolvedComponent() {
+        _resolvedComponentCache = false;
+        _resolvedComponentContainerProvider = null;
+    }
+
+    /**
+     * Inject lazy proxy to fields and properties of interface type, which resolves the component at first call. <br>
+     * The existence of component is checked when binding, so not-found field is still null.
+     * Mock instances are injected directly. The option is not inherited to nested binders.
+     */
+    public void lazyInterfaceBinding() {
+        _lazyInterfaceBinding = true;
+    }
+
+    public void cancelLazyInterfaceBinding() {
+        _lazyInterfaceBinding = false;
+    }
+
+    /**
+     * Bind nested components (nested binding and nested mock) of independent branches concurrently. <br>
+     * The nested binding is deferred until top-level fields and properties are bound,
+     * and the nested results are added in the same order as sequential binding. <br>
+     * Branches that can touch the same instance (injected component, mock or nested binding component)
+     * are bound sequentially in one group. The groups run in the dedicated pool threads,
+     * so thread-local context of the caller is not visible there. (nested binding finds only mocks and nested components)
+     */
+    public void parallelNestedBinding() {
+        _parallelNestedBinding = true;
+    }
+
+    public void cancelParallelNestedBinding() {
+        _parallelNestedBinding = false;
+    }
+
+    /**
+     * Record lookup time of fields and properties to the bound result. (for timing report) <br>
+     * The owner type of the lookup is the bean class for both fields and properties.
+     */
+    public void recordLookupTiming() {
+        _lookupTimingRecord = true;
+    }
+
+    public void cancelRecordLookupTiming() {
+        _lookupTimingRecord = false;
+    }
+
     public void addMockInstance(Object mockInstance) {
         if (mockInstance == null) {
             String msg = "The argument 'mockInstance' should not be null.";
@@ -156,14 +276,191 @@ public class ComponentBinder {
     //                                                 -----
     public BoundResult bindComponent(Object bean) {
         final BoundResult boundResult = new BoundResult(bean);
-        doBindFieldComponent(bean, boundResult);
-        doBindPropertyComponent(bean, boundResult);
+        final ComponentInjectionPlan plan = prepareInjectionPlan(bean.getClass());
+        if (!_parallelNestedBinding) {
+            fireComponentBinding(bean, plan, boundResult);
+            return boundResult;
+        }
+        final List<InjectedComponentContainer> deferredList = new ArrayList<InjectedComponentContainer>();
+        _deferredNestedMap.put(boundResult, deferredList);
+        try {
+            fireComponentBinding(bean, plan, boundResult);
+        } finally {
+            _deferredNestedMap.remove(boundResult); // lazy component after here is bound immediately
+        }
+        bindNestedComponentParallel(deferredList, boundResult);
         return boundResult;
     }
 
+    @SuppressWarnings("deprecation")
+    protected void fireComponentBinding(Object bean, ComponentInjectionPlan plan, BoundResult boundResult) {
+        if (_legacyFieldBinding) { // overridden by sub-class so keep calling it
+            doBindFieldComponent(bean, boundResult);
+        } else {
+            doBindFieldComponent(bean, plan, boundResult);
+        }
+        if (_legacyPropertyBinding) {
+            doBindPropertyComponent(bean, boundResult);
+        } else {
+            doBindPropertyComponent(bean, plan, boundResult);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                        Injection Plan
+    //                                        --------------
+    protected ComponentInjectionPlan prepareInjectionPlan(Class<?> beanType) {
+        if (!isInjectionPlanCacheable()) {
+            return buildInjectionPlan(beanType);
+        }
+        final List<Object> planKey = buildInjectionPlanKey(beanType);
+        final ComponentInjectionPlan cached = _injectionPlanMap.get(planKey);
+        if (cached != null) {
+            return cached;
+        }
+        final ComponentInjectionPlan built = buildInjectionPlan(beanType);
+        if (_injectionPlanMap.size() >= INJECTION_PLAN_CACHE_LIMIT) { // not to keep old classes forever
+            _injectionPlanMap.clear();
+        }
+        final ComponentInjectionPlan existing = _injectionPlanMap.putIfAbsent(planKey, built);
+        return existing != null ? existing : built; // same plan anyway
+    }
+
+    protected boolean isInjectionPlanCacheable() { // you can override
+        return true;
+    }
+
+    protected List<Object> buildInjectionPlanKey(Class<?> beanType) {
+        // options that determine the plan (mock instances and overriding are used when binding)
+        final List<Object> keyList = new ArrayList<Object>();
+        keyList.add(beanType);
+        keyList.add(getClass()); // binder might be customized
+        keyList.add(_bindingAnnotationProvider.getClass());
+        for (Entry<Class<? extends Annotation>, BindingAnnotationRule> entry : _bindingAnnotationRuleMap.entrySet()) {
+            final BindingAnnotationRule rule = entry.getValue();
+            final NonBindingDeterminer determiner = rule.getNonBindingDeterminer();
+            keyList.add(entry.getKey());
+            keyList.add(rule.isByNameOnly());
+            keyList.add(rule.isByTypeOnly());
+            keyList.add(determiner != null ? buildNonBindingDeterminerKey(determiner) : null);
+        }
+        keyList.add(_terminalSuperClass);
+        keyList.add(_annotationOnlyBinding);
+        keyList.add(_byTypeInterfaceOnly);
+        keyList.add(_looseBinding);
+        keyList.add(new ArrayList<Class<?>>(_nonBindingTypeList));
+        return keyList;
+    }
+
+    protected Object buildNonBindingDeterminerKey(NonBindingDeterminer determiner) { // you can override
+        // determiner is basically stateless and new-created per provider call so class is enough,
+        // override this to return the determiner itself (or its state) if it has state
+        return determiner.getClass();
+    }
+
+    protected ComponentInjectionPlan buildInjectionPlan(Class<?> beanType) {
+        final List<FieldInjection> fieldInjectionList = new ArrayList<FieldInjection>();
+        for (Class<?> clazz = beanType; isBindTargetClass(clazz); clazz = clazz.getSuperclass()) {
+            if (clazz == null) {
+                break;
+            }
+            final Field[] fields = clazz.getDeclaredFields();
+            for (Field field : fields) {
+                final FieldInjection injection = planFieldInjection(field);
+                if (injection != null) {
+                    fieldInjectionList.add(injection);
+                }
+            }
+        }
+        final List<PropertyInjection> propertyInjectionList = new ArrayList<PropertyInjection>();
+        final DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(beanType);
+        final List<String> proppertyNameList = beanDesc.getProppertyNameList();
+        for (String propertyName : proppertyNameList) {
+            final PropertyInjection injection = planPropertyInjection(beanDesc, propertyName);
+            if (injection != null) {
+                propertyInjectionList.add(injection);
+            }
+        }
+        return new ComponentInjectionPlan(beanType, fieldInjectionList, propertyInjectionList);
+    }
+
+    protected FieldInjection planFieldInjection(Field field) { // null allowed: when not target
+        if (!isModifiersAutoBindable(field)) {
+            return null;
+        }
+        final Annotation bindingAnno = findBindingAnnotation(field); // might be null
+        if (bindingAnno == null && !_looseBinding) {
+            return null;
+        }
+        final Class<?> fieldType = field.getType();
+        if (isNonBindingType(fieldType)) {
+            return null;
+        }
+        if (isNonBindingAnnotation(bindingAnno)) {
+            return null;
+        }
+        field.setAccessible(true); // only once per field
+        return new FieldInjection(field, bindingAnno, determineFindingType(field.getName(), fieldType, bindingAnno));
+    }
+
+    protected PropertyInjection planPropertyInjection(DfBeanDesc beanDesc, String propertyName) { // null allowed
+        final DfPropertyDesc propertyDesc = beanDesc.getPropertyDesc(propertyName);
+        if (!propertyDesc.isWritable()) {
+            return null;
+        }
+        final Class<?> propertyType = propertyDesc.getPropertyType();
+        if (isNonBindingType(propertyType)) {
+            return null;
+        }
+        final Method writeMethod = propertyDesc.getWriteMethod();
+        if (writeMethod == null) { // public field
+            return null; // unsupported fixedly
+        }
+        final Annotation bindingAnno = findBindingAnnotation(writeMethod); // might be null
+        if (_annotationOnlyBinding && bindingAnno == null) {
+            return null; // e.g. Guice needs annotation to setter
+        }
+        if (isNonBindingAnnotation(bindingAnno)) {
+            return null;
+        }
+        if (!isBindTargetClass(writeMethod.getDeclaringClass())) {
+            return null;
+        }
+        return new PropertyInjection(propertyDesc, bindingAnno, determineFindingType(propertyName, propertyType, bindingAnno));
+    }
+
+    protected BindingFindingType determineFindingType(String propertyName, Class<?> propertyType, Annotation bindingAnno) {
+        if (isFindingByNameOnlyProperty(propertyName, propertyType, bindingAnno)) {
+            return BindingFindingType.BY_NAME_ONLY;
+        } else if (isFindingByTypeOnlyProperty(propertyName, propertyType, bindingAnno)) {
+            return BindingFindingType.BY_TYPE_ONLY;
+        }
+        return BindingFindingType.BOTH;
+    }
+
+    /**
+     * Clear the cached injection plans, e.g. when classes are reloaded. <br>
+     * InjectionTestCase calls it when the container is destroyed.
+     */
+    public static void clearInjectionPlanCache() {
+        _injectionPlanMap.clear();
+    }
+
     // -----------------------------------------------------
     //                                         Field Binding
     //                                         -------------
+    protected void doBindFieldComponent(Object bean, ComponentInjectionPlan plan, BoundResult boundResult) {
+        for (FieldInjection injection : plan.getFieldInjectionList()) {
+            fireFieldBinding(bean, injection, boundResult);
+        }
+    }
+
+    /**
+     * @param bean The bean to be injected. (NotNull)
+     * @param boundResult The result of binding to be added. (NotNull)
+     * @deprecated use doBindFieldComponent() with injection plan, this is called only when overridden
+     */
+    @Deprecated
     protected void doBindFieldComponent(Object bean, BoundResult boundResult) {
         for (Class<?> clazz = bean.getClass(); isBindTargetClass(clazz); clazz = clazz.getSuperclass()) {
             if (clazz == null) {
@@ -176,29 +473,47 @@ public class ComponentBinder {
         }
     }
 
+    /**
+     * @param bean The bean to be injected. (NotNull)
+     * @param field The field of the bean, not planned yet. (NotNull)
+     * @param boundResult The result of binding to be added. (NotNull)
+     * @deprecated use fireFieldBinding() with field injection, this is called only when overridden
+     */
+    @Deprecated
     protected void fireFieldBinding(Object bean, Field field, BoundResult boundResult) {
-        if (!isModifiersAutoBindable(field)) {
+        final FieldInjection injection = planFieldInjection(field); // per call so slow
+        if (injection != null) {
+            fireFieldBinding(bean, injection, boundResult);
+        }
+    }
+
+    /**
+     * @param bean The bean to be injected. (NotNull)
+     * @param field The field of the bean. (NotNull)
+     * @return The existing value of the field. (NullAllowed)
+     * @deprecated no replacement because the existing value is read once, this is called only when overridden
+     */
+    @Deprecated
+    protected Object extractExistingFieldValue(Object bean, Field field) {
+        return getFieldValue(field, bean);
+    }
+
+    @SuppressWarnings("deprecation")
+    protected void fireFieldBinding(Object bean, FieldInjection injection, BoundResult boundResult) {
+        final Object existing = _legacyFieldBinding ? extractExistingFieldValue(bean, injection.getField()) // compatible
+                : getFieldValue(injection.getField(), bean); // read once for both check and revert
+        if (!_overridingBinding && existing != null) {
             return;
         }
-        final Annotation bindingAnno = findBindingAnnotation(field); // might be null
-        if (bindingAnno != null || _looseBinding) {
-            field.setAccessible(true);
-            final Class<?> fieldType = field.getType();
-            if (isNonBindingType(fieldType)) {
-                return;
-            }
-            if (isNonBindingAnnotation(bindingAnno)) {
-                return;
-            }
-            if (!_overridingBinding && getFieldValue(field, bean) != null) {
-                return;
-            }
-            final Object component = findInjectedComponent(field.getName(), fieldType, bindingAnno, boundResult);
-            if (component != null) {
-                final Object existing = extractExistingFieldValue(bean, field);
-                setFieldValue(field, bean, component);
-                boundResult.addBoundField(field, existing);
-            }
+        final long before = _lookupTimingRecord ? System.nanoTime() : 0L;
+        final Object component = fireComponentFinding(injection.getName(), injection.getType(), injection.getBindingAnno(),
+                injection.getFindingType(), boundResult);
+        if (_lookupTimingRecord) { // containing nested binding
+            boundResult.addBoundLookup(bean.getClass(), injection.getName(), component, System.nanoTime() - before);
+        }
+        if (component != null) {
+            setFieldValue(injection.getField(), bean, component);
+            boundResult.addBoundField(injection.getField(), existing);
         }
     }
 
@@ -207,13 +522,21 @@ public class ComponentBinder {
         return !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.getType().isPrimitive();
     }
 
-    protected Object extractExistingFieldValue(Object bean, Field field) {
-        return DfReflectionUtil.getValueForcedly(field, bean);
-    }
-
     // -----------------------------------------------------
     //                                      Property Binding
     //                                      ----------------
+    protected void doBindPropertyComponent(Object bean, ComponentInjectionPlan plan, BoundResult boundResult) {
+        for (PropertyInjection injection : plan.getPropertyInjectionList()) {
+            firePropertyBinding(bean, injection, boundResult);
+        }
+    }
+
+    /**
+     * @param bean The bean to be injected. (NotNull)
+     * @param boundResult The result of binding to be added. (NotNull)
+     * @deprecated use doBindPropertyComponent() with injection plan, this is called only when overridden
+     */
+    @Deprecated
     protected void doBindPropertyComponent(Object bean, BoundResult boundResult) {
         final DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(bean.getClass());
         final List<String> proppertyNameList = beanDesc.getProppertyNameList();
@@ -222,33 +545,32 @@ public class ComponentBinder {
         }
     }
 
+    /**
+     * @param bean The bean to be injected. (NotNull)
+     * @param beanDesc The bean description of the bean. (NotNull)
+     * @param propertyName The name of property, not planned yet. (NotNull)
+     * @param boundResult The result of binding to be added. (NotNull)
+     * @deprecated use firePropertyBinding() with property injection, this is called only when overridden
+     */
+    @Deprecated
     protected void firePropertyBinding(Object bean, DfBeanDesc beanDesc, String propertyName, BoundResult boundResult) {
-        final DfPropertyDesc propertyDesc = beanDesc.getPropertyDesc(propertyName);
-        if (!propertyDesc.isWritable()) {
-            return;
-        }
-        final Class<?> propertyType = propertyDesc.getPropertyType();
-        if (isNonBindingType(propertyType)) {
-            return;
-        }
-        final Method writeMethod = propertyDesc.getWriteMethod();
-        if (writeMethod == null) { // public field
-            return; // unsupported fixedly
-        }
-        final Annotation bindingAnno = findBindingAnnotation(writeMethod); // might be null
-        if (_annotationOnlyBinding && bindingAnno == null) {
-            return; // e.g. Guice needs annotation to setter
-        }
-        if (isNonBindingAnnotation(bindingAnno)) {
-            return;
-        }
-        if (!isBindTargetClass(writeMethod.getDeclaringClass())) {
-            return;
+        final PropertyInjection injection = planPropertyInjection(beanDesc, propertyName); // per call so slow
+        if (injection != null) {
+            firePropertyBinding(bean, injection, boundResult);
         }
+    }
+
+    protected void firePropertyBinding(Object bean, PropertyInjection injection, BoundResult boundResult) {
+        final DfPropertyDesc propertyDesc = injection.getPropertyDesc();
         if (!_overridingBinding && propertyDesc.isReadable() && propertyDesc.getValue(bean) != null) {
             return;
         }
-        final Object component = findInjectedComponent(propertyName, propertyType, bindingAnno, boundResult);
+        final long before = _lookupTimingRecord ? System.nanoTime() : 0L;
+        final Object component = fireComponentFinding(injection.getName(), injection.getType(), injection.getBindingAnno(),
+                injection.getFindingType(), boundResult);
+        if (_lookupTimingRecord) {
+            boundResult.addBoundLookup(bean.getClass(), injection.getName(), component, System.nanoTime() - before);
+        }
         if (component == null) {
             // binder does not throw injection failure because it cannot check correctly
             // (you can test component building getComponent() easily instead, and also use police-story)
@@ -266,21 +588,97 @@ public class ComponentBinder {
     // ===================================================================================
     //                                                                      Find Component
     //                                                                      ==============
+    @SuppressWarnings("deprecation")
+    protected Object fireComponentFinding(String propertyName, Class<?> propertyType, Annotation bindingAnno,
+            BindingFindingType findingType, BoundResult boundResult) {
+        if (_legacyFinding) { // overridden by sub-class so keep calling it
+            return findInjectedComponent(propertyName, propertyType, bindingAnno, boundResult);
+        }
+        return findInjectedComponent(propertyName, propertyType, bindingAnno, findingType, boundResult);
+    }
+
+    /**
+     * @param propertyName The name of field or property. (NotNull)
+     * @param propertyType The type of field or property. (NotNull)
+     * @param bindingAnno The binding annotation of the property. (NullAllowed)
+     * @param boundResult The result of binding to be added. (NotNull)
+     * @return The found component. (NullAllowed: when not found)
+     * @deprecated use findInjectedComponent() with finding type, this is called only when overridden
+     */
+    @Deprecated
     protected Object findInjectedComponent(String propertyName, Class<?> propertyType, Annotation bindingAnno, BoundResult boundResult) {
-        final InjectedComponentContainer container = doFindInjectedComponent(propertyName, propertyType, bindingAnno);
-        bindNestedBinding(container, boundResult);
-        bindNestedMock(container, boundResult);
+        final BindingFindingType findingType = determineFindingType(propertyName, propertyType, bindingAnno);
+        return findInjectedComponent(propertyName, propertyType, bindingAnno, findingType, boundResult);
+    }
+
+    protected Object findInjectedComponent(String propertyName, Class<?> propertyType, Annotation bindingAnno,
+            BindingFindingType findingType, BoundResult boundResult) {
+        if (isLazyBindingType(propertyType) && findMockInstance(propertyType) == null) { // mock is already instance
+            if (!existsInjectedComponent(propertyName, propertyType, bindingAnno, findingType)) {
+                return null;
+            }
+            return LazyComponentHandler.createProxy(propertyType, () -> { // nested binding is also lazy
+                return actuallyFindInjectedComponent(propertyName, propertyType, bindingAnno, findingType, boundResult);
+            });
+        }
+        return actuallyFindInjectedComponent(propertyName, propertyType, bindingAnno, findingType, boundResult);
+    }
+
+    @SuppressWarnings("deprecation")
+    protected Object actuallyFindInjectedComponent(String propertyName, Class<?> propertyType, Annotation bindingAnno,
+            BindingFindingType findingType, BoundResult boundResult) {
+        final InjectedComponentContainer container = _legacyDoFinding // overridden by sub-class so keep calling it
+                ? doFindInjectedComponent(propertyName, propertyType, bindingAnno)
+                : doFindInjectedComponent(propertyName, propertyType, bindingAnno, findingType);
+        final List<InjectedComponentContainer> deferredList = _deferredNestedMap.get(boundResult);
+        if (deferredList != null) { // parallel mode
+            deferredList.add(container);
+        } else {
+            bindNestedBinding(container, boundResult);
+            bindNestedMock(container, boundResult);
+        }
         return container.getInjected(); // null allowed
     }
 
+    // -----------------------------------------------------
+    //                                          Lazy Binding
+    //                                          ------------
+    protected boolean isLazyBindingType(Class<?> propertyType) {
+        return _lazyInterfaceBinding && propertyType.isInterface();
+    }
+
+    protected boolean existsInjectedComponent(String propertyName, Class<?> propertyType, Annotation bindingAnno,
+            BindingFindingType findingType) { // without instantiating component
+        if (BindingFindingType.BY_NAME_ONLY.equals(findingType)) {
+            return hasComponent(resolveComponentName(propertyName, propertyType, bindingAnno));
+        } else if (BindingFindingType.BY_TYPE_ONLY.equals(findingType)) {
+            return hasComponent(propertyType);
+        }
+        return hasComponent(resolveComponentName(propertyName, propertyType, bindingAnno)) || hasComponent(propertyType);
+    }
+
+    /**
+     * @param propertyName The name of field or property. (NotNull)
+     * @param propertyType The type of field or property. (NotNull)
+     * @param bindingAnno The binding annotation of the property. (NullAllowed)
+     * @return The container of found component. (NotNull)
+     * @deprecated use doFindInjectedComponent() with finding type, this is called only when overridden
+     */
+    @Deprecated
     protected InjectedComponentContainer doFindInjectedComponent(String propertyName, Class<?> propertyType, Annotation bindingAnno) {
+        final BindingFindingType findingType = determineFindingType(propertyName, propertyType, bindingAnno);
+        return doFindInjectedComponent(propertyName, propertyType, bindingAnno, findingType);
+    }
+
+    protected InjectedComponentContainer doFindInjectedComponent(String propertyName, Class<?> propertyType, Annotation bindingAnno,
+            BindingFindingType findingType) { // finding type is already determined by injection plan
         final Object mock = findMockInstance(propertyType);
         if (mock != null) {
             return InjectedComponentContainer.ofMock(mock);
         }
-        if (isFindingByNameOnlyProperty(propertyName, propertyType, bindingAnno)) {
+        if (BindingFindingType.BY_NAME_ONLY.equals(findingType)) {
             return InjectedComponentContainer.of(doFindInjectedComponentByName(propertyName, propertyType, bindingAnno));
-        } else if (isFindingByTypeOnlyProperty(propertyName, propertyType, bindingAnno)) {
+        } else if (BindingFindingType.BY_TYPE_ONLY.equals(findingType)) {
             return InjectedComponentContainer.of(doFindInjectedComponentByType(propertyType));
         }
         final Object byName = doFindInjectedComponentByName(propertyName, propertyType, bindingAnno);
@@ -349,26 +747,90 @@ public class ComponentBinder {
     }
 
     protected Object doFindInjectedComponentByName(String propertyName, Class<?> propertyType, Annotation bindingAnno) {
+        return actuallyFindInjectedComponentByName(resolveComponentName(propertyName, propertyType, bindingAnno));
+    }
+
+    protected String resolveComponentName(String propertyName, Class<?> propertyType, Annotation bindingAnno) {
         final String specifiedName = extractSpecifiedName(bindingAnno);
-        final String realName;
         if (specifiedName != null) {
-            realName = specifiedName;
-        } else {
-            final String normalized = normalizeName(propertyName);
-            final String filtered = _bindingAnnotationProvider.filterByBindingNamingRule(normalized, propertyType);
-            realName = filtered != null ? filtered : normalized;
+            return specifiedName;
         }
-        return actuallyFindInjectedComponentByName(realName);
+        final String normalized = normalizeName(propertyName);
+        final String filtered = _bindingAnnotationProvider.filterByBindingNamingRule(normalized, propertyType);
+        return filtered != null ? filtered : normalized;
     }
 
     protected Object actuallyFindInjectedComponentByName(String name) {
+        if (_resolvedComponentCache) {
+            return findResolvedComponent(name, () -> hasComponent(name) ? getComponent(name) : null);
+        }
         return hasComponent(name) ? getComponent(name) : null;
     }
 
     protected Object doFindInjectedComponentByType(Class<?> propertyType) {
+        if (_resolvedComponentCache) {
+            return findResolvedComponent(propertyType, () -> hasComponent(propertyType) ? getComponent(propertyType) : null);
+        }
         return hasComponent(propertyType) ? getComponent(propertyType) : null;
     }
 
+    // -----------------------------------------------------
+    //                                    Resolved Component
+    //                                    ------------------
+    protected Object findResolvedComponent(Object nameOrType, Supplier<Object> resolver) {
+        final Object container = _resolvedComponentContainerProvider.get();
+        if (container == null) { // e.g. container is unknown for the cache
+            return resolver.get();
+        }
+        final ConcurrentMap<Object, Object> resolvedMap = prepareResolvedComponentMap(container);
+        final Object cached = resolvedMap.get(nameOrType);
+        if (cached != null) {
+            return cached;
+        }
+        final Object resolved = resolver.get(); // not in computeIfAbsent() to avoid container call in map lock
+        // not-found is not cached because the component may be registered later, e.g. lazily-registered
+        // and prototype or request-scoped component is resolved every time
+        if (resolved != null && isSingletonComponent(nameOrType)) {
+            resolvedMap.putIfAbsent(nameOrType, resolved);
+        }
+        return resolved;
+    }
+
+    protected ConcurrentMap<Object, Object> prepareResolvedComponentMap(Object container) {
+        synchronized (_resolvedComponentContainerMap) {
+            ConcurrentMap<Object, Object> resolvedMap = _resolvedComponentContainerMap.get(container);
+            if (resolvedMap == null) {
+                resolvedMap = new ConcurrentHashMap<Object, Object>();
+                _resolvedComponentContainerMap.put(container, resolvedMap);
+            }
+            return resolvedMap;
+        }
+    }
+
+    protected boolean isSingletonComponent(Object nameOrType) {
+        if (nameOrType instanceof Class<?>) {
+            return _componentProvider.isSingletonComponent((Class<?>) nameOrType);
+        }
+        return _componentProvider.isSingletonComponent((String) nameOrType);
+    }
+
+    /**
+     * Clear the cache of resolved components of the container, called when the container is destroyed.
+     * @param container The container instance used as cache key. (NullAllowed: then do nothing)
+     */
+    public static void clearResolvedComponentCache(Object container) {
+        if (container != null) {
+            _resolvedComponentContainerMap.remove(container);
+        }
+    }
+
+    /**
+     * Clear the cache of resolved components of all containers.
+     */
+    public static void clearResolvedComponentCache() {
+        _resolvedComponentContainerMap.clear();
+    }
+
     protected String normalizeName(String name) {
         if (_looseBinding) {
             return name.startsWith("_") ? name.substring("_".length()) : name;
@@ -456,6 +918,159 @@ public class ComponentBinder {
         boundResult.addNestedBoundResult(nestedResult);
     }
 
+    // ===================================================================================
+    //                                                                     Nested Parallel
+    //                                                                     ===============
+    protected void bindNestedComponentParallel(List<InjectedComponentContainer> containerList, BoundResult boundResult) {
+        final List<List<Integer>> groupList = groupNestedBranch(containerList);
+        final List<List<BoundResult>> nestedResultsList = new ArrayList<List<BoundResult>>(containerList.size());
+        for (int i = 0; i < containerList.size(); i++) {
+            nestedResultsList.add(null); // set by index
+        }
+        final List<Callable<Void>> taskList = new ArrayList<Callable<Void>>(groupList.size());
+        for (List<Integer> group : groupList) {
+            taskList.add(() -> {
+                for (Integer index : group) { // each index is set by only one task, in sequential order in the group
+                    nestedResultsList.set(index, bindNestedComponentIsolated(containerList.get(index), boundResult));
+                }
+                return null;
+            });
+        }
+        if (taskList.size() > 1) {
+            invokeNestedBindingTask(taskList);
+        } else {
+            for (Callable<Void> task : taskList) {
+                invokeNestedBindingTask(task); // no need to fork
+            }
+        }
+        for (List<BoundResult> nestedResults : nestedResultsList) { // same order as sequential binding
+            if (nestedResults != null) {
+                boundResult.addNestedBoundResultAll(nestedResults);
+            }
+        }
+    }
+
+    /**
+     * Group the branches (indexes of container list) that can touch the same instance, transitively. <br>
+     * The touched instances are the injected component and mock or nested binding components injectable to it,
+     * which are also bound by nested binder, so they should be bound in the same order as sequential binding.
+     * @param containerList The list of injected component container for each branch. (NotNull)
+     * @return The list of group having sorted indexes. (NotNull)
+     */
+    protected List<List<Integer>> groupNestedBranch(List<InjectedComponentContainer> containerList) {
+        final List<Object> sharedList = new ArrayList<Object>(_mockInstanceList);
+        sharedList.addAll(_nestedBindingMap.values());
+        final List<List<Integer>> groupList = new ArrayList<List<Integer>>();
+        final Map<Object, List<Integer>> groupMap = new IdentityHashMap<Object, List<Integer>>(); // touched instance to group
+        for (int i = 0; i < containerList.size(); i++) {
+            final Object injected = containerList.get(i).getInjected();
+            if (injected == null) {
+                continue;
+            }
+            final Set<Object> touchedSet = collectTouchedInstance(injected, sharedList);
+            List<Integer> group = null;
+            for (Object touched : touchedSet) {
+                final List<Integer> existing = groupMap.get(touched);
+                if (existing == null || existing == group) {
+                    continue;
+                }
+                if (group == null) {
+                    group = existing;
+                } else { // merge the existing group to the group
+                    group.addAll(existing);
+                    groupList.removeIf(element -> element == existing);
+                    for (Entry<Object, List<Integer>> entry : groupMap.entrySet()) {
+                        if (entry.getValue() == existing) {
+                            entry.setValue(group);
+                        }
+                    }
+                }
+            }
+            if (group == null) {
+                group = new ArrayList<Integer>();
+                groupList.add(group);
+            }
+            group.add(i);
+            for (Object touched : touchedSet) {
+                groupMap.put(touched, group);
+            }
+        }
+        for (List<Integer> group : groupList) {
+            Collections.sort(group); // merged group may be out of order
+        }
+        return groupList;
+    }
+
+    protected Set<Object> collectTouchedInstance(Object injected, List<Object> sharedList) {
+        final Set<Object> touchedSet = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        final Deque<Object> queue = new ArrayDeque<Object>();
+        queue.add(injected);
+        while (!queue.isEmpty()) {
+            final Object current = queue.poll();
+            if (!touchedSet.add(current) || sharedList.isEmpty()) {
+                continue;
+            }
+            final ComponentInjectionPlan plan = prepareInjectionPlan(current.getClass()); // superset of nested binder's plan
+            for (Object shared : sharedList) {
+                if (!touchedSet.contains(shared) && isInjectableInstance(plan, shared)) { // nested binder goes into it
+                    queue.add(shared);
+                }
+            }
+        }
+        return touchedSet;
+    }
+
+    protected boolean isInjectableInstance(ComponentInjectionPlan plan, Object instance) {
+        for (FieldInjection injection : plan.getFieldInjectionList()) {
+            if (injection.getType().isInstance(instance)) {
+                return true;
+            }
+        }
+        for (PropertyInjection injection : plan.getPropertyInjectionList()) {
+            if (injection.getType().isInstance(instance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected void invokeNestedBindingTask(List<Callable<Void>> taskList) {
+        final List<Future<Void>> futureList = _nestedBindingPool.invokeAll(taskList); // waits for all
+        for (Future<Void> future : futureList) {
+            try {
+                future.get();
+            } catch (InterruptedException e) { // basically no way because already done
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for nested binding.", e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Failed to bind nested component.", cause);
+            }
+        }
+    }
+
+    protected void invokeNestedBindingTask(Callable<Void> task) {
+        try {
+            task.call(); // in the current thread
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) { // no way because the task does not throw checked exception
+            throw new IllegalStateException("Failed to bind nested component.", e);
+        }
+    }
+
+    protected List<BoundResult> bindNestedComponentIsolated(InjectedComponentContainer container, BoundResult boundResult) {
+        final BoundResult isolatedResult = new BoundResult(boundResult.getTargetBean()); // to collect nested results
+        bindNestedBinding(container, isolatedResult);
+        bindNestedMock(container, isolatedResult);
+        return isolatedResult.getNestedBoundResultList();
+    }
+
     // ===================================================================================
     //                                                                         Nested Mock
     //                                                                         ===========
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+
+import org.dbflute.helper.beans.DfPropertyDesc;
+
+/**
+ * The immutable plan of injection for the bean type, computed once per type and binder options. <br>
+ * It has the injection target fields and properties that are statically determined,
+ * so binding only looks up components and sets them.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class ComponentInjectionPlan {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Class<?> _beanType;
+    protected final List<FieldInjection> _fieldInjectionList;
+    protected final List<PropertyInjection> _propertyInjectionList;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ComponentInjectionPlan(Class<?> beanType, List<FieldInjection> fieldInjectionList,
+            List<PropertyInjection> propertyInjectionList) {
+        _beanType = beanType;
+        _fieldInjectionList = Collections.unmodifiableList(fieldInjectionList);
+        _propertyInjectionList = Collections.unmodifiableList(propertyInjectionList);
+    }
+
+    public static class FieldInjection {
+
+        protected final Field field; // already accessible
+        protected final Annotation bindingAnno; // null allowed: when loose binding
+        protected final BindingFindingType findingType;
+
+        public FieldInjection(Field field, Annotation bindingAnno, BindingFindingType findingType) {
+            this.field = field;
+            this.bindingAnno = bindingAnno;
+            this.findingType = findingType;
+        }
+
+        @Override
+        public String toString() {
+            return "fieldInjection:{" + field.getName() + ", " + findingType + "}";
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public String getName() {
+            return field.getName();
+        }
+
+        public Class<?> getType() {
+            return field.getType();
+        }
+
+        public Annotation getBindingAnno() {
+            return bindingAnno;
+        }
+
+        public BindingFindingType getFindingType() {
+            return findingType;
+        }
+    }
+
+    public static class PropertyInjection {
+
+        protected final DfPropertyDesc propertyDesc; // writable
+        protected final Annotation bindingAnno; // null allowed: when no annotation
+        protected final BindingFindingType findingType;
+
+        public PropertyInjection(DfPropertyDesc propertyDesc, Annotation bindingAnno, BindingFindingType findingType) {
+            this.propertyDesc = propertyDesc;
+            this.bindingAnno = bindingAnno;
+            this.findingType = findingType;
+        }
+
+        @Override
+        public String toString() {
+            return "propertyInjection:{" + propertyDesc.getPropertyName() + ", " + findingType + "}";
+        }
+
+        public DfPropertyDesc getPropertyDesc() {
+            return propertyDesc;
+        }
+
+        public String getName() {
+            return propertyDesc.getPropertyName();
+        }
+
+        public Class<?> getType() {
+            return propertyDesc.getPropertyType();
+        }
+
+        public Annotation getBindingAnno() {
+            return bindingAnno;
+        }
+
+        public BindingFindingType getFindingType() {
+            return findingType;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "injectionPlan:{" + _beanType.getName() + ", " + _fieldInjectionList + ", " + _propertyInjectionList + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Class<?> getBeanType() {
+        return _beanType;
+    }
+
+    public List<FieldInjection> getFieldInjectionList() {
+        return _fieldInjectionList;
+    }
+
+    public List<PropertyInjection> getPropertyInjectionList() {
+        return _propertyInjectionList;
+    }
+}
@@ -28,4 +28,23 @@ public interface ComponentProvider {
     boolean existsComponent(Class<?> type);
 
     boolean existsComponent(String name);
+
+    /**
+     * Is the component of the type singleton in the container? (can the binder cache it?) <br>
+     * Not singleton as default, so the resolved component cache of binder does not keep it.
+     * @param type The type of component. (NotNull)
+     * @return The determination, true or false.
+     */
+    default boolean isSingletonComponent(Class<?> type) {
+        return false;
+    }
+
+    /**
+     * Is the component of the name singleton in the container? (can the binder cache it?)
+     * @param name The name of component. (NotNull)
+     * @return The determination, true or false.
+     */
+    default boolean isSingletonComponent(String name) {
+        return false;
+    }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.dbflute.utflute.core.binding.BoundResult.BoundField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The snapshot of field values of components touched by a test case, to restore them at tear-down. <br>
+ * The components are the injected ones of bound results and the targets of nested binding (e.g. nested mock). <br>
+ * It is shallow: field references are restored but the contents of mutable objects (e.g. collection) are not.
+ * <pre>
+ * ComponentSnapshot snapshot = new ComponentSnapshot();
+ * snapshot.take(boundResult);
+ * ... <span style="color: #3F7E5E">// test changes state of singleton components</span>
+ * snapshot.restore();
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class ComponentSnapshot {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _logger = LoggerFactory.getLogger(ComponentSnapshot.class);
+
+    /** The cache of snapshot fields per component type, shared in JVM. (NotNull) */
+    private static final ConcurrentMap<Class<?>, List<Field>> _snapshotFieldMap = new ConcurrentHashMap<Class<?>, List<Field>>();
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of component to its field values, the first snapshot of the component is kept. (NotNull) */
+    protected final Map<Object, Object[]> _componentValueMap = new IdentityHashMap<Object, Object[]>();
+
+    // ===================================================================================
+    //                                                                       Take Snapshot
+    //                                                                       =============
+    /**
+     * Take the snapshot of components touched by the bound result, containing nested results.
+     * @param boundResult The bound result of injection. (NotNull)
+     */
+    public void take(BoundResult boundResult) {
+        if (boundResult == null) {
+            String msg = "The argument 'boundResult' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        final Object bean = boundResult.getTargetBean();
+        for (BoundField boundField : boundResult.getBoundFieldList()) {
+            takeComponent(extractInjectedComponent(bean, boundField));
+        }
+        for (BoundResult nestedResult : boundResult.getNestedBoundResultList()) {
+            takeComponent(nestedResult.getTargetBean()); // e.g. container-managed component with nested mock
+            take(nestedResult);
+        }
+    }
+
+    protected Object extractInjectedComponent(Object bean, BoundField boundField) { // null allowed
+        try {
+            return boundField.getField().get(bean); // accessible by binder
+        } catch (IllegalAccessException | RuntimeException e) {
+            _logger.debug("*Cannot get the injected component: field=" + boundField, e);
+            return null;
+        }
+    }
+
+    protected void takeComponent(Object component) {
+        if (component == null || _componentValueMap.containsKey(component) || !isSnapshotTargetComponent(component)) {
+            return;
+        }
+        final List<Field> fieldList = findSnapshotFieldList(component.getClass());
+        final Object[] values = new Object[fieldList.size()];
+        for (int i = 0; i < values.length; i++) {
+            try {
+                values[i] = fieldList.get(i).get(component);
+            } catch (IllegalAccessException e) { // no way because of setAccessible()
+                throw new IllegalStateException("Failed to get the field value: " + fieldList.get(i), e);
+            }
+        }
+        _componentValueMap.put(component, values);
+    }
+
+    protected boolean isSnapshotTargetComponent(Object component) { // you can override
+        final String className = component.getClass().getName();
+        if (className.startsWith("java.") || className.startsWith("javax.") || component.getClass().isArray()) {
+            return false;
+        }
+        return !Proxy.isProxyClass(component.getClass()); // e.g. lazy component
+    }
+
+    // ===================================================================================
+    //                                                                      Snapshot Field
+    //                                                                     ==============
+    protected List<Field> findSnapshotFieldList(Class<?> componentType) {
+        final List<Field> cached = _snapshotFieldMap.get(componentType);
+        if (cached != null) {
+            return cached;
+        }
+        final List<Field> fieldList = new ArrayList<Field>();
+        for (Class<?> clazz = componentType; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (isSnapshotField(field)) {
+                    fieldList.add(field);
+                }
+            }
+        }
+        final List<Field> built = Collections.unmodifiableList(fieldList);
+        final List<Field> existing = _snapshotFieldMap.putIfAbsent(componentType, built);
+        return existing != null ? existing : built;
+    }
+
+    protected boolean isSnapshotField(Field field) {
+        final int modifiers = field.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic()) {
+            return false; // final field cannot be restored
+        }
+        try {
+            field.setAccessible(true);
+            return true;
+        } catch (RuntimeException e) { // e.g. module restriction
+            return false;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                    Restore Snapshot
+    //                                                                    ================
+    /**
+     * Restore field values of the components from the snapshot, only changed fields are set.
+     * @return The count of restored (changed) fields.
+     */
+    public int restore() {
+        int restoredCount = 0;
+        for (Map.Entry<Object, Object[]> entry : _componentValueMap.entrySet()) {
+            final Object component = entry.getKey();
+            final Object[] values = entry.getValue();
+            final List<Field> fieldList = findSnapshotFieldList(component.getClass());
+            for (int i = 0; i < values.length; i++) {
+                final Field field = fieldList.get(i);
+                try {
+                    if (isChangedValue(field, field.get(component), values[i])) {
+                        field.set(component, values[i]);
+                        ++restoredCount;
+                    }
+                } catch (IllegalAccessException | RuntimeException continued) { // because of not important
+                    _logger.debug("*Cannot restore the field: component=" + component + ", field=" + field, continued);
+                }
+            }
+        }
+        return restoredCount;
+    }
+
+    protected boolean isChangedValue(Field field, Object current, Object snapshot) {
+        if (field.getType().isPrimitive()) { // boxed per get
+            return !current.equals(snapshot);
+        }
+        return current != snapshot; // reference itself is restored
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getComponentCount() {
+        return _componentValueMap.size();
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.dbflute.utflute.core.binding.BoundResult.BoundLookup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The report of injection timing aggregated in JVM, written to the file at JVM exit. <br>
+ * It has setUp() phases (container, injection, transaction) per test class,
+ * and lookup time per field and per component type, sorted by total time.
+ * <pre>
+ * e.g. target/utflute/timing/injection-timing.txt
+ *  [Suite] setUp=12, container=4321.000ms, injection=12.345ms, transaction=3.210ms
+ *  [Slowest Classes] by total setUp
+ *   4300.123ms FooActionTest (setUp=3, container=4290.000ms, injection=8.000ms, transaction=2.123ms)
+ *  [Slowest Fields] by total lookup
+ *   6.100ms FooAction.fooLogic -&gt; FooLogic (count=3, max=5.000ms)
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class InjectionTimingReport {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _logger = LoggerFactory.getLogger(InjectionTimingReport.class);
+    protected static final int TOP_COUNT = 20;
+
+    /** The report instance in JVM, written by shutdown hook. (NullAllowed: before first preparation) */
+    private static InjectionTimingReport _jvmReport;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File _reportFile;
+    protected final TimingSummary _suiteSummary = new TimingSummary();
+    protected final ConcurrentMap<String, TimingSummary> _classSummaryMap = new ConcurrentHashMap<String, TimingSummary>();
+    protected final ConcurrentMap<String, TimingSummary> _fieldSummaryMap = new ConcurrentHashMap<String, TimingSummary>();
+    protected final ConcurrentMap<String, TimingSummary> _componentSummaryMap = new ConcurrentHashMap<String, TimingSummary>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public InjectionTimingReport(File reportFile) {
+        _reportFile = reportFile;
+    }
+
+    /**
+     * Prepare the report in JVM, which is written to the file at JVM exit.
+     * @param reportFile The file of report, used only at first preparation. (NotNull)
+     * @return The report instance shared in JVM. (NotNull)
+     */
+    public static synchronized InjectionTimingReport prepareJvmReport(File reportFile) {
+        if (_jvmReport == null) {
+            final InjectionTimingReport report = new InjectionTimingReport(reportFile);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> report.write(), "utflute-timing-report"));
+            _jvmReport = report;
+        }
+        return _jvmReport;
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * Record the time of setUp() phases of the test class.
+     * @param testClass The type of test case. (NotNull)
+     * @param containerNanos The nanoseconds to prepare the container.
+     * @param injectionNanos The nanoseconds to inject components to the test case.
+     * @param transactionNanos The nanoseconds to begin the transaction.
+     */
+    public void recordSetUp(Class<?> testClass, long containerNanos, long injectionNanos, long transactionNanos) {
+        _suiteSummary.recordSetUp(containerNanos, injectionNanos, transactionNanos);
+        findSummary(_classSummaryMap, testClass.getSimpleName()).recordSetUp(containerNanos, injectionNanos, transactionNanos);
+    }
+
+    /**
+     * Record the lookup time of the bound result, nested results are not recorded because contained in the lookup.
+     * @param boundResult The bound result of injection. (NotNull)
+     */
+    public void recordBoundResult(BoundResult boundResult) {
+        for (BoundLookup lookup : boundResult.getBoundLookupList()) {
+            final Class<?> componentType = lookup.getComponentType();
+            final String componentExp = componentType != null ? componentType.getSimpleName() : "(not found)";
+            final String fieldKey = lookup.getOwnerType().getSimpleName() + "." + lookup.getPropertyName() + " -> " + componentExp;
+            findSummary(_fieldSummaryMap, fieldKey).recordLookup(lookup.getLookupNanos());
+            if (componentType != null) {
+                findSummary(_componentSummaryMap, componentType.getName()).recordLookup(lookup.getLookupNanos());
+            }
+        }
+    }
+
+    protected TimingSummary findSummary(ConcurrentMap<String, TimingSummary> summaryMap, String key) {
+        final TimingSummary existing = summaryMap.get(key);
+        return existing != null ? existing : summaryMap.computeIfAbsent(key, __ -> new TimingSummary());
+    }
+
+    // ===================================================================================
+    //                                                                        Write Report
+    //                                                                        ============
+    /**
+     * Write the report to the file, does nothing if no record.
+     */
+    public void write() {
+        if (_suiteSummary.getCount() == 0 && _fieldSummaryMap.isEmpty()) {
+            return;
+        }
+        final Path reportPath = _reportFile.toPath();
+        try {
+            Files.createDirectories(reportPath.toAbsolutePath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8)) {
+                for (String line : buildReportLineList()) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        } catch (IOException | RuntimeException e) { // at JVM exit so only logging
+            _logger.info("Failed to write the injection timing report: " + _reportFile, e);
+        }
+    }
+
+    public List<String> buildReportLineList() {
+        final List<String> lineList = new ArrayList<String>();
+        lineList.add("# UTFlute injection timing report at " + LocalDateTime.now());
+        lineList.add("[Suite] " + _suiteSummary.toSetUpExp());
+        lineList.add("[Slowest Classes] by total setUp");
+        for (Entry<String, TimingSummary> entry : sortByTotal(_classSummaryMap)) {
+            final TimingSummary summary = entry.getValue();
+            lineList.add(" " + toMillisExp(summary.getTotalNanos()) + " " + entry.getKey() + " (" + summary.toSetUpExp() + ")");
+        }
+        lineList.add("[Slowest Fields] by total lookup");
+        for (Entry<String, TimingSummary> entry : sortByTotal(_fieldSummaryMap)) {
+            lineList.add(buildLookupLine(entry));
+        }
+        lineList.add("[Slowest Components] by total lookup");
+        for (Entry<String, TimingSummary> entry : sortByTotal(_componentSummaryMap)) {
+            lineList.add(buildLookupLine(entry));
+        }
+        return lineList;
+    }
+
+    protected String buildLookupLine(Entry<String, TimingSummary> entry) {
+        final TimingSummary summary = entry.getValue();
+        return " " + toMillisExp(summary.getTotalNanos()) + " " + entry.getKey() + " (" + summary.toLookupExp() + ")";
+    }
+
+    protected List<Entry<String, TimingSummary>> sortByTotal(Map<String, TimingSummary> summaryMap) {
+        final List<Entry<String, TimingSummary>> entryList = new ArrayList<Entry<String, TimingSummary>>(summaryMap.entrySet());
+        entryList.sort((e1, e2) -> Long.compare(e2.getValue().getTotalNanos(), e1.getValue().getTotalNanos()));
+        return entryList.size() > TOP_COUNT ? entryList.subList(0, TOP_COUNT) : entryList;
+    }
+
+    protected static String toMillisExp(long nanos) {
+        return String.format(Locale.ENGLISH, "%.3fms", nanos / 1000000.0); // fixed decimal point for comparison
+    }
+
+    // ===================================================================================
+    //                                                                      Timing Summary
+    //                                                                      ==============
+    protected static class TimingSummary {
+
+        protected final LongAdder count = new LongAdder();
+        protected final LongAdder totalNanos = new LongAdder();
+        protected final AtomicLong maxNanos = new AtomicLong();
+        protected final LongAdder containerNanos = new LongAdder();
+        protected final LongAdder injectionNanos = new LongAdder();
+        protected final LongAdder transactionNanos = new LongAdder();
+
+        public void recordSetUp(long container, long injection, long transaction) {
+            containerNanos.add(container);
+            injectionNanos.add(injection);
+            transactionNanos.add(transaction);
+            recordLookup(container + injection + transaction);
+        }
+
+        public void recordLookup(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public String toSetUpExp() {
+            return "setUp=" + count.sum() + ", container=" + toMillisExp(containerNanos.sum()) + ", injection="
+                    + toMillisExp(injectionNanos.sum()) + ", transaction=" + toMillisExp(transactionNanos.sum());
+        }
+
+        public String toLookupExp() {
+            return "count=" + count.sum() + ", max=" + toMillisExp(maxNanos.get());
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getReportFile() {
+        return _reportFile;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+/**
+ * The invocation handler of lazy component proxy, which resolves the real component at first call. <br>
+ * equals(), hashCode() and toString() do not resolve the component.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class LazyComponentHandler implements InvocationHandler {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Class<?> _componentType;
+    protected final Supplier<Object> _resolver; // called once
+    protected volatile Object _resolved; // null allowed: before first call
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public LazyComponentHandler(Class<?> componentType, Supplier<Object> resolver) {
+        _componentType = componentType;
+        _resolver = resolver;
+    }
+
+    /**
+     * Create the lazy proxy of the component.
+     * @param componentType The interface type of component. (NotNull)
+     * @param resolver The resolver of real component, called at first call. (NotNull)
+     * @return The proxy implementing the interface. (NotNull)
+     */
+    public static Object createProxy(Class<?> componentType, Supplier<Object> resolver) {
+        if (!componentType.isInterface()) {
+            String msg = "The component type for lazy proxy should be interface: " + componentType;
+            throw new IllegalArgumentException(msg);
+        }
+        final LazyComponentHandler handler = new LazyComponentHandler(componentType, resolver);
+        return Proxy.newProxyInstance(componentType.getClassLoader(), new Class<?>[] { componentType }, handler);
+    }
+
+    // ===================================================================================
+    //                                                                              Invoke
+    //                                                                              ======
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            final String methodName = method.getName();
+            if ("equals".equals(methodName)) {
+                return proxy == args[0];
+            } else if ("hashCode".equals(methodName)) {
+                return System.identityHashCode(proxy);
+            } else if ("toString".equals(methodName)) {
+                return "lazyComponent:{" + _componentType.getName() + ", " + (_resolved != null ? _resolved : "not resolved") + "}";
+            }
+        }
+        try {
+            return method.invoke(resolveComponent(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    protected Object resolveComponent() {
+        Object resolved = _resolved;
+        if (resolved != null) {
+            return resolved;
+        }
+        synchronized (this) {
+            if (_resolved == null) {
+                resolved = _resolver.get();
+                if (resolved == null) { // basically no way because existence is checked
+                    String msg = "Not found the lazy component: " + _componentType.getName();
+                    throw new IllegalStateException(msg);
+                }
+                _resolved = resolved;
+            }
+            return _resolved;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Class<?> getComponentType() {
+        return _componentType;
+    }
+
+    public boolean isResolved() {
+        return _resolved != null;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The pacer of arrivals for open-loop cannon-ball, shared by all cars in one fire.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballArrivalPacer {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _opsPerSecond;
+    protected final AtomicLong _arrivalSequence = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public CannonballArrivalPacer(int opsPerSecond) {
+        _opsPerSecond = opsPerSecond;
+    }
+
+    // ===================================================================================
+    //                                                                             Arrival
+    //                                                                             =======
+    /**
+     * Take the next arrival for the car.
+     * @param beginNanoTime The nano time when the fire begins.
+     * @return The nano time when the arrival is scheduled. (might be past if the cars are late)
+     */
+    public long nextArrivalNanoTime(long beginNanoTime) {
+        final long sequence = _arrivalSequence.getAndIncrement();
+        return beginNanoTime + (long) (sequence * (1000000000.0 / _opsPerSecond)); // no drift by sequence
+    }
+
+    /**
+     * Wait for the scheduled arrival, return immediately if already past.
+     * @param arrivalNanoTime The nano time when the arrival is scheduled.
+     */
+    public void awaitArrival(long arrivalNanoTime) {
+        long remaining;
+        while ((remaining = arrivalNanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                String msg = "Failed to wait for the arrival by interruption: arrival=" + arrivalNanoTime;
+                throw new CannonballRetireException(msg, new InterruptedException());
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getOpsPerSecond() {
+        return _opsPerSecond;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.dbflute.utflute.core.cannonball;
 
+import java.util.concurrent.ScheduledExecutorService;
+
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 
 import junit.framework.AssertionFailedError;
@@ -34,6 +36,8 @@ public class CannonballCar {
     protected final Object _lockObj;
     protected final int _countOfEntry; // to check
     protected final CannonballLogger _logger;
+    protected final CannonballReport _report; // to record latency
+    protected final ScheduledExecutorService _watchingScheduler; // shared by dragons in the run
     protected Object _runResult;
     protected Long _projectATimeLimit;
     protected boolean _suppressDecrementWhenBreakAway;
@@ -42,13 +46,15 @@ public class CannonballCar {
     //                                                                         Constructor
     //                                                                         ===========
     public CannonballCar(long threadId, CannonballLatch ourLatch, int entryNumber, Object lockObj, int countOfEntry,
-            CannonballLogger logger) {
+            CannonballLogger logger, CannonballReport report, ScheduledExecutorService watchingScheduler) {
         _threadId = threadId;
         _ourLatch = ourLatch;
         _entryNumber = entryNumber;
         _lockObj = lockObj;
         _countOfEntry = countOfEntry;
         _logger = logger;
+        _report = report;
+        _watchingScheduler = watchingScheduler;
     }
 
     // ===================================================================================
@@ -80,7 +86,9 @@ public class CannonballCar {
      * </pre>
      */
     public void restart() {
+        final long beginTime = System.nanoTime();
         _ourLatch.await(CannonballLatch.DEFAULT_LATCH_NAME, getEntryNumber());
+        _report.recordRestart(System.nanoTime() - beginTime);
     }
 
     /**
@@ -105,6 +113,15 @@ public class CannonballCar {
      */
     public void projectA(CannonballProjectA projectA, final int entryNumber) {
         checkEntryNumber(entryNumber);
+        final long beginTime = System.nanoTime();
+        try {
+            doProjectA(projectA, entryNumber);
+        } finally {
+            _report.recordProjectA(System.nanoTime() - beginTime);
+        }
+    }
+
+    protected void doProjectA(CannonballProjectA projectA, final int entryNumber) {
         final String projectAKey = generateProjectAKey(projectA, entryNumber);
         _ourLatch.lineUpProjectA(projectAKey, entryNumber, getEntryNumber()); // all cars gathers at first
         final CannonballWatchingStatus watchingStatus = new CannonballWatchingStatus(projectAKey);
@@ -117,30 +134,37 @@ public class CannonballCar {
             synchronized (watchingStatus) { // with watching thread
                 watchingStatus.markDone(); // to suppress unnecessary forcedly count down
             }
+            dragon.closeWatchers(); // no need to watch after done (not closed when exception to release waiting cars)
         }
         synchronized (watchingStatus) { // with watching thread
             final boolean forcedly = watchingStatus.containsForcedly();
-            if (!forcedly) { // except forcedly car
-                _ourLatch.waitForProjectA(projectAKey, entryNumber, getEntryNumber());
-            } else { // forcedly car
+            if (forcedly) { // forcedly car, waiting cars were already released by watcher
                 _ourLatch.comeBackFromOvertimeProjectA(projectAKey, entryNumber);
             }
             if (isEntryNumber(entryNumber)) {
-                if (dragon.isExpectedNormallyDone()) {
-                    if (forcedly) {
-                        String msg = "expected: normally done, but was: the plan overtime: entryNumber=" + entryNumber;
-                        throw new AssertionFailedError(msg);
-                    }
-                }
-                if (dragon.isExpectedOvertime()) {
-                    if (!forcedly) {
-                        String msg = "expected: overtime, but was: the plan normally done: entryNumber=" + entryNumber;
-                        throw new AssertionFailedError(msg);
-                    }
-                }
+                // before arriving at the latch, so the break-away of this car releases waiting cars
+                // (completion handshake, no need to wait for broken car handling by tea break)
+                assertExpectedPlanResult(dragon, entryNumber, forcedly);
+            }
+            if (!forcedly) { // except forcedly car
+                _ourLatch.waitForProjectA(projectAKey, entryNumber, getEntryNumber());
+            }
+        }
+    }
+
+    protected void assertExpectedPlanResult(CannonballDragon dragon, int entryNumber, boolean forcedly) {
+        if (dragon.isExpectedNormallyDone()) {
+            if (forcedly) {
+                String msg = "expected: normally done, but was: the plan overtime: entryNumber=" + entryNumber;
+                throw new AssertionFailedError(msg);
+            }
+        }
+        if (dragon.isExpectedOvertime()) {
+            if (!forcedly) {
+                String msg = "expected: overtime, but was: the plan normally done: entryNumber=" + entryNumber;
+                throw new AssertionFailedError(msg);
             }
         }
-        teaBreak(100); // wait for broken car handling when assertion failure (for safety but inexact)
     }
 
     protected int getFallbackOvertimeLimit() {
@@ -152,7 +176,7 @@ public class CannonballCar {
     }
 
     protected CannonballDragon createDragon(CannonballWatchingStatus watchingStatus) {
-        return new CannonballDragon(this, watchingStatus);
+        return new CannonballDragon(this, watchingStatus, _watchingScheduler);
     }
 
     protected void executeProjectA(CannonballProjectA projectA, CannonballDragon dragon) {
@@ -257,6 +281,14 @@ public class CannonballCar {
         return _entryNumber;
     }
 
+    /**
+     * Get the report of the cannon-ball to record your own latency.
+     * @return The common instance for all cars. (NotNull)
+     */
+    public CannonballReport getReport() {
+        return _report;
+    }
+
     /**
      * Get the lock object to handle threads as you like it.
      * @return The common instance for all cars. (NotNull)
@@ -15,14 +15,21 @@
  */
 package org.dbflute.utflute.core.cannonball;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import junit.framework.AssertionFailedError;
 
@@ -51,7 +58,7 @@ public class CannonballDirector {
     // ===================================================================================
     //                                                                         Thread Fire
     //                                                                         ===========
-    public void readyGo(CannonballRun execution, CannonballOption option) {
+    public CannonballReport readyGo(CannonballRun execution, CannonballOption option) {
         if (execution == null) {
             String msg = "The argument 'execution' should be not null.";
             throw new IllegalArgumentException(msg);
@@ -60,17 +67,15 @@ public class CannonballDirector {
             String msg = "The argument 'option' should be not null.";
             throw new IllegalArgumentException(msg);
         }
+        if (option.isArrivalRateMode() && !option.isDurationMode()) {
+            String msg = "The arrival rate needs the duration of the run: arrivalRate=" + option.getArrivalRate();
+            throw new IllegalStateException(msg);
+        }
+        final CannonballReport report = createReport(option);
         final List<CannonballRetireException> retireExList = new ArrayList<CannonballRetireException>();
         try {
             try {
-                for (int i = 0; i < option.getRepeatCount(); i++) {
-                    final List<Object> resultList = doThreadFire(execution, option);
-                    for (Object result : resultList) {
-                        if (result instanceof CannonballRetireException) {
-                            retireExList.add((CannonballRetireException) result);
-                        }
-                    }
-                }
+                doReadyGo(execution, option, report, retireExList);
             } finally {
                 final CannonballFinalizer finalizer = option.getFinalizer();
                 if (finalizer != null) {
@@ -90,23 +95,48 @@ public class CannonballDirector {
         } else {
             handleNormalException(retireExList);
         }
+        log("*Cannonball " + report);
+        return report;
+    }
+
+    protected CannonballReport createReport(CannonballOption option) {
+        return new CannonballReport(option.getThreadCount());
     }
 
-    protected List<Object> doThreadFire(CannonballRun execution, CannonballOption option) {
+    protected void doReadyGo(CannonballRun execution, CannonballOption option, CannonballReport report,
+            List<CannonballRetireException> retireExList) {
+        // the executor is reused across repeats so that thread count stays flat even if many repeats
+        final ExecutorService service = createExecutorService(option);
+        final ScheduledExecutorService watchingScheduler = createWatchingScheduler(option);
+        try {
+            for (int i = 0; i < option.getRepeatCount(); i++) {
+                final List<Object> resultList = doThreadFire(execution, option, service, watchingScheduler, report);
+                for (Object result : resultList) {
+                    if (result instanceof CannonballRetireException) {
+                        retireExList.add((CannonballRetireException) result);
+                    }
+                }
+            }
+        } finally {
+            watchingScheduler.shutdownNow(); // remaining watchers are no longer needed
+            shutdownExecutorService(service);
+        }
+    }
+
+    protected List<Object> doThreadFire(CannonballRun execution, CannonballOption option, ExecutorService service,
+            ScheduledExecutorService watchingScheduler, CannonballReport report) {
         // ## Arrange ##
-        final ExecutorService service = Executors.newCachedThreadPool();
         final int threadCount = option.getThreadCount();
-        final CountDownLatch ready = new CountDownLatch(threadCount);
-        final CountDownLatch start = new CountDownLatch(1);
-        final CountDownLatch goal = new CountDownLatch(threadCount);
+        final CyclicBarrier startGate = createStartGate(option, report); // per fire not to inherit broken gate
         final CannonballLogger logger = createLogger();
         final CannonballLatch ourLatch = new CannonballLatch(threadCount, logger);
         final Object lockObj = new Object();
+        final CannonballArrivalPacer pacer = option.isArrivalRateMode() ? createArrivalPacer(option) : null;
         final List<Future<Object>> futureList = new ArrayList<Future<Object>>();
         for (int i = 0; i < threadCount; i++) { // basically synchronized with parameter size
             final int entryNumber = i + 1;
-            final Callable<Object> callable = createCallable(execution, option, ready, start, goal, ourLatch,
-                    entryNumber, lockObj, logger);
+            final Callable<Object> callable = createCallable(execution, option, startGate, ourLatch, entryNumber, lockObj, logger,
+                    report, pacer, watchingScheduler);
             final Future<Object> future = service.submit(callable);
             futureList.add(future);
         }
@@ -115,22 +145,109 @@ public class CannonballDirector {
         log("/- - - - - - - - - - - - - - - - - - - - - -");
         log("                                 Cannon-ball");
         log("                                 - - - - - -");
-        start.countDown();
-        try {
-            // wait until all threads are finished
-            goal.await();
-        } catch (InterruptedException e) {
-            String msg = "goal.await() was interrupted!";
-            throw new IllegalStateException(msg, e);
+        final boolean opened = openStartGate(startGate); // the director is the last party so all cars start here
+        final List<Object> resultList = handleFuture(option, futureList); // wait until all threads are finished
+        if (opened) { // no fire time if broken gate
+            report.recordFire(System.nanoTime() - report.getStartGateOpenedNanoTime());
         }
         log("- - - - - - - - -/ *All threads were fired");
 
         // ## Assert ##
-        final List<Object> resultList = handleFuture(option, futureList);
         assertSameResultIfExpected(option, resultList);
         return resultList;
     }
 
+    protected CannonballArrivalPacer createArrivalPacer(CannonballOption option) {
+        return new CannonballArrivalPacer(option.getArrivalRate());
+    }
+
+    // -----------------------------------------------------
+    //                                            Start Gate
+    //                                            ----------
+    protected CyclicBarrier createStartGate(CannonballOption option, CannonballReport report) {
+        // cars and director, it may be broken by e.g. interrupted car so not reused
+        return new CyclicBarrier(option.getThreadCount() + 1, () -> report.markStartGateOpened());
+    }
+
+    protected boolean openStartGate(CyclicBarrier startGate) { // true if opened
+        try {
+            // timeout for a car that dies before the gate, the gate is broken then so waiting cars fail soon
+            startGate.await(getStartGateTimeoutMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (BrokenBarrierException | TimeoutException continued) { // cars fail by the broken gate
+            log("*The start gate was broken so the cars retire: " + continued.getClass().getSimpleName());
+            return false;
+        } catch (InterruptedException e) {
+            String msg = "The start gate was interrupted for the director: startGate=" + startGate;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    protected long getStartGateTimeoutMillis() {
+        return 60000L; // basically all cars soon reach the gate after submitted
+    }
+
+    // -----------------------------------------------------
+    //                                      Executor Service
+    //                                      ----------------
+    protected ExecutorService createExecutorService(CannonballOption option) {
+        if (option.isVirtualThreads()) {
+            final ExecutorService virtualService = createVirtualThreadExecutorService();
+            if (virtualService != null) {
+                return virtualService;
+            }
+            log("*Virtual threads are unsupported in the JVM so platform threads are used instead");
+        }
+        return Executors.newFixedThreadPool(option.getThreadCount()); // all cars run at the same time
+    }
+
+    protected ExecutorService createVirtualThreadExecutorService() { // null allowed: when e.g. Java8
+        final Method factoryMethod;
+        try {
+            // reflection because the source level is Java8 (exists since Java21)
+            factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException ignored) {
+            return null;
+        }
+        try {
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            String msg = "Failed to create the executor service for virtual threads: " + factoryMethod;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                    Watching Scheduler
+    //                                    ------------------
+    protected ScheduledExecutorService createWatchingScheduler(CannonballOption option) {
+        // one thread for all overtime watchers of projectA in the run (no thread per plan)
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "cannonball-watcher");
+            thread.setDaemon(true); // not to block JVM exit just in case
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true); // cancelled watchers are not kept in the queue
+        return scheduler;
+    }
+
+    protected void shutdownExecutorService(ExecutorService service) {
+        service.shutdown(); // all cars already reached the goal here (or failed) so no new task
+        try {
+            if (!service.awaitTermination(getExecutorTerminationTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                log("*The executor service was not terminated in time so shutdown it now: " + service);
+                service.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            service.shutdownNow();
+            Thread.currentThread().interrupt(); // to inherit the status
+        }
+    }
+
+    protected long getExecutorTerminationTimeoutMillis() {
+        return 10000L; // basically immediately terminated because cars already finished
+    }
+
     protected CannonballLogger createLogger() {
         return new CannonballLogger() {
             public void log(Object... msgs) {
@@ -184,58 +301,40 @@ public class CannonballDirector {
     // ===================================================================================
     //                                                                            Callable
     //                                                                            ========
-    protected Callable<Object> createCallable(final CannonballRun run, final CannonballOption option,
-            final CountDownLatch ready, final CountDownLatch start, final CountDownLatch goal,
-            final CannonballLatch ourLatch, final int entryNumber, final Object lockObj, final CannonballLogger logger) {
+    protected Callable<Object> createCallable(final CannonballRun run, final CannonballOption option, final CyclicBarrier startGate,
+            final CannonballLatch ourLatch, final int entryNumber, final Object lockObj, final CannonballLogger logger,
+            final CannonballReport report, final CannonballArrivalPacer pacer, final ScheduledExecutorService watchingScheduler) {
         return new Callable<Object>() {
             public Object call() { // each thread here
                 final long threadId = Thread.currentThread().getId();
-                final CannonballCar car = createCar(threadId, ourLatch, entryNumber, lockObj, option, logger);
+                CannonballCar car = null; // created after the gate so that any car surely reaches the gate
                 boolean failure = false;
                 try {
-                    ready.countDown();
                     try {
-                        start.await();
-                    } catch (InterruptedException e) {
-                        String msg = "start.await() was interrupted: start=" + start;
+                        startGate.await();
+                    } catch (InterruptedException | BrokenBarrierException e) {
+                        String msg = "startGate.await() was interrupted or broken: startGate=" + startGate;
                         throw new IllegalStateException(msg, e);
                     }
+                    report.recordStartSkew(System.nanoTime());
+                    car = createCar(threadId, ourLatch, entryNumber, lockObj, option, logger, report, watchingScheduler);
                     prepareAccessContext();
-                    TransactionResource txRes = null;
-                    if (!option.isSuppressTransaction()) {
-                        txRes = beginTransaction();
-                    }
-                    Object result = null;
                     try {
-                        run.drive(car);
-                        result = car.getRunResult();
-                    } catch (RuntimeException e) {
-                        failure = true;
-                        throw e;
-                    } catch (Error e) {
+                        if (option.isDurationMode()) {
+                            return driveUntilDeadline(run, option, car, report, pacer);
+                        } else {
+                            return driveLap(run, option, car, report);
+                        }
+                    } catch (RuntimeException | Error e) {
                         failure = true;
                         throw e;
                     } finally {
-                        if (txRes != null) {
-                            try {
-                                if (!failure && option.isCommitTransaction()) {
-                                    txRes.commit();
-                                } else {
-                                    txRes.rollback();
-                                }
-                            } catch (Exception continued) {
-                                log("*Failed to commit or roll-back: " + continued.getMessage());
-                            }
-                        }
                         clearAccessContext();
                     }
-                    return result;
                 } finally {
-                    goal.countDown();
-
                     // release waiting threads
-                    final boolean suppressDecrement = car.isSuppressDecrementWhenBreakAway();
-                    if (failure) {
+                    final boolean suppressDecrement = car != null && car.isSuppressDecrementWhenBreakAway();
+                    if (failure || car == null) {
                         ourLatch.breakAway(entryNumber, suppressDecrement);
                     } else {
                         ourLatch.complete(entryNumber, suppressDecrement);
@@ -245,10 +344,63 @@ public class CannonballDirector {
         };
     }
 
+    protected Object driveLap(CannonballRun run, CannonballOption option, CannonballCar car, CannonballReport report) {
+        TransactionResource txRes = null;
+        if (!option.isSuppressTransaction()) {
+            txRes = beginTransaction();
+        }
+        boolean failure = false;
+        final long driveBeginTime = System.nanoTime();
+        try {
+            run.drive(car);
+            return car.getRunResult();
+        } catch (RuntimeException | Error e) {
+            failure = true;
+            throw e;
+        } finally {
+            report.recordDrive(System.nanoTime() - driveBeginTime);
+            if (txRes != null) {
+                try {
+                    if (!failure && option.isCommitTransaction()) {
+                        txRes.commit();
+                    } else {
+                        txRes.rollback();
+                    }
+                } catch (Exception continued) {
+                    log("*Failed to commit or roll-back: " + continued.getMessage());
+                }
+            }
+        }
+    }
+
+    protected Object driveUntilDeadline(CannonballRun run, CannonballOption option, CannonballCar car, CannonballReport report,
+            CannonballArrivalPacer pacer) { // pacer is null allowed: when closed-loop
+        final long beginTime = report.getStartGateOpenedNanoTime();
+        final long deadline = beginTime + TimeUnit.MILLISECONDS.toNanos(option.getDurationMillis());
+        Object result = null;
+        while (true) {
+            if (pacer != null) { // open-loop, arrivals are independent from completion of drives
+                final long arrivalTime = pacer.nextArrivalNanoTime(beginTime);
+                if (arrivalTime - deadline >= 0) {
+                    break;
+                }
+                pacer.awaitArrival(arrivalTime);
+                result = driveLap(run, option, car, report);
+                report.recordResponse(System.nanoTime() - arrivalTime); // including queueing
+            } else { // closed-loop, next drive soon after previous drive
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+                result = driveLap(run, option, car, report);
+            }
+        }
+        return result; // of last lap
+    }
+
     protected CannonballCar createCar(long threadId, CannonballLatch ourLatch, int entryNumber, Object lockObj,
-            CannonballOption option, CannonballLogger logger) {
+            CannonballOption option, CannonballLogger logger, CannonballReport report, ScheduledExecutorService watchingScheduler) {
         final int countOfEntry = option.getThreadCount();
-        return new CannonballCar(threadId, ourLatch, entryNumber, lockObj, countOfEntry, logger);
+        return new CannonballCar(threadId, ourLatch, entryNumber, lockObj, countOfEntry, logger, report, watchingScheduler);
     }
 
     // ===================================================================================
@@ -17,6 +17,9 @@ package org.dbflute.utflute.core.cannonball;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author jflute
@@ -29,18 +32,20 @@ public class CannonballDragon {
     //                                                                           =========
     protected final CannonballCar _car; // for the project A
     protected final CannonballWatchingStatus _watchingStatus; // should be used in synchronized scope
+    protected final ScheduledExecutorService _watchingScheduler; // shared in the cannon-ball run
     protected final List<CannonballWatcher> _watcherList = new ArrayList<CannonballWatcher>();
-    protected final long _planBeginTime; // to calculate time-span
+    protected final long _planBeginTime; // to calculate time-span, as nano time
     protected boolean _expectedNormallyDone;
     protected boolean _expectedOvertime;
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
-    public CannonballDragon(CannonballCar car, CannonballWatchingStatus watchingStatus) {
+    public CannonballDragon(CannonballCar car, CannonballWatchingStatus watchingStatus, ScheduledExecutorService watchingScheduler) {
         _car = car;
         _watchingStatus = watchingStatus;
-        _planBeginTime = System.currentTimeMillis(); // almost same as created time
+        _watchingScheduler = watchingScheduler;
+        _planBeginTime = System.nanoTime(); // almost same as created time
     }
 
     // ===================================================================================
@@ -71,15 +76,13 @@ public class CannonballDragon {
      * Release waiting cars if overtime. <br>
      * The default allowed time for the plan is 3000 milliseconds. <br>
      * you can reset it by this method.
-     * @param millis The milliseconds until overtime. (NotMinus)
+     * @param millis The milliseconds until overtime, from beginning of the plan. (NotMinus)
      */
     public void releaseIfOvertime(final long millis) {
-        // create and start new watching thread and close old threads
+        // schedule new watcher and cancel old watchers
         synchronized (_watchingStatus) {
             if (isWaiting()) {
-                for (CannonballWatcher watcher : _watcherList) {
-                    watcher.close();
-                }
+                closeWatchers();
                 final CannonballWatcher watcher = createWatcher(millis);
                 _watcherList.add(watcher);
                 watcher.watch();
@@ -87,6 +90,18 @@ public class CannonballDragon {
         }
     }
 
+    /**
+     * Close all watchers of the dragon, cancelling scheduled release. (internal)
+     */
+    public void closeWatchers() {
+        synchronized (_watchingStatus) {
+            for (CannonballWatcher watcher : _watcherList) {
+                watcher.close();
+            }
+            _watcherList.clear();
+        }
+    }
+
     // ===================================================================================
     //                                                                             Watcher
     //                                                                             =======
@@ -98,52 +113,37 @@ public class CannonballDragon {
 
         protected final long _millis;
         protected volatile boolean _closed;
+        protected ScheduledFuture<?> _future; // null allowed: before watching
 
         public CannonballWatcher(long millis) {
             _millis = millis;
         }
 
         public void watch() {
-            final Thread watchingThread = new Thread(new Runnable() {
-                public void run() {
-                    final long alreadyPastTime = System.currentTimeMillis() - _planBeginTime;
-                    final int splitCount = 10;
-                    final long tokenMillis = (_millis - alreadyPastTime) / splitCount;
-                    if (tokenMillis > 0) { // just in case
-                        for (int i = 0; i < splitCount; i++) {
-                            sleep(tokenMillis);
-                            if (_closed) {
-                                return;
-                            }
-                        }
-                    }
-                    synchronized (_watchingStatus) {
-                        if (_closed) {
-                            return;
-                        }
-                        if (isWaiting()) {
-                            final int entryNumber = _car.getEntryNumber();
-                            final CannonballLatch ourLatch = _car.getOurLatch();
-                            ourLatch.leaveProjectAAlone(_watchingStatus.getProjectAKey(), entryNumber); // release waiting cars
-                            _watchingStatus.markForecdly(); // to suppress unnecessary restart of forcedly car
-                        }
-                    }
-                }
+            final long alreadyPastNanos = System.nanoTime() - _planBeginTime;
+            final long delayNanos = Math.max(0L, TimeUnit.MILLISECONDS.toNanos(_millis) - alreadyPastNanos);
+            _future = _watchingScheduler.schedule(() -> releaseWaitingCars(), delayNanos, TimeUnit.NANOSECONDS);
+        }
 
-                protected void sleep(long millis) {
-                    try {
-                        Thread.sleep(millis);
-                    } catch (InterruptedException e) {
-                        String msg = "Failed to have a tea break but I want to...";
-                        throw new IllegalStateException(msg, e);
-                    }
+        protected void releaseWaitingCars() {
+            synchronized (_watchingStatus) {
+                if (_closed) {
+                    return;
                 }
-            });
-            watchingThread.start();
+                if (isWaiting()) {
+                    final int entryNumber = _car.getEntryNumber();
+                    final CannonballLatch ourLatch = _car.getOurLatch();
+                    ourLatch.leaveProjectAAlone(_watchingStatus.getProjectAKey(), entryNumber); // release waiting cars
+                    _watchingStatus.markForecdly(); // to suppress unnecessary restart of forcedly car
+                }
+            }
         }
 
         public void close() {
             _closed = true;
+            if (_future != null) {
+                _future.cancel(false); // not running here because of synchronized scope
+            }
         }
     }
 
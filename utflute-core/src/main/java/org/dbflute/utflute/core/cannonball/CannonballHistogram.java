@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The histogram of nanoseconds for cannon-ball, thread-safe and allocation-free when recording. <br>
+ * The buckets are log-linear like HDR histogram, so the relative error is less than 1/64.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballHistogram {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int SUB_BUCKET_BITS = 7; // 128 linear values in first bucket
+    protected static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    protected static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+    protected static final int BUCKET_ARRAY_SIZE = (64 - SUB_BUCKET_BITS + 2) * SUB_BUCKET_HALF_COUNT;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _title;
+    protected final AtomicLongArray _bucketArray = new AtomicLongArray(BUCKET_ARRAY_SIZE);
+    protected final AtomicLong _totalCount = new AtomicLong();
+    protected final AtomicLong _totalNanos = new AtomicLong();
+    protected final AtomicLong _maxNanos = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public CannonballHistogram(String title) {
+        _title = title;
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * Record the time-span as nanoseconds.
+     * @param nanos The nanoseconds of the time-span. (minus is treated as zero)
+     */
+    public void record(long nanos) {
+        final long value = nanos > 0 ? nanos : 0L;
+        _bucketArray.incrementAndGet(toBucketIndex(value));
+        _totalCount.incrementAndGet();
+        _totalNanos.addAndGet(value);
+        long currentMax;
+        while (value > (currentMax = _maxNanos.get())) {
+            if (_maxNanos.compareAndSet(currentMax, value)) {
+                break;
+            }
+        }
+    }
+
+    protected int toBucketIndex(long value) {
+        final int bucketIndex = Math.max(0, (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1));
+        final int subBucketIndex = (int) (value >>> bucketIndex); // 0-127 if first bucket, 64-127 if others
+        return (bucketIndex * SUB_BUCKET_HALF_COUNT) + subBucketIndex;
+    }
+
+    protected long toHighestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int bucketIndex = (index / SUB_BUCKET_HALF_COUNT) - 1;
+        final long subBucketIndex = index - (bucketIndex * SUB_BUCKET_HALF_COUNT);
+        return ((subBucketIndex + 1) << bucketIndex) - 1;
+    }
+
+    // ===================================================================================
+    //                                                                           Calculate
+    //                                                                           =========
+    /**
+     * Get the value at the percentile. (e.g. 50.0 means median)
+     * @param percentile The percentile, 0.0 to 100.0.
+     * @return The nanoseconds at the percentile, might be a little higher than actual. (zero if no record)
+     */
+    public long getPercentileNanos(double percentile) {
+        final long totalCount = _totalCount.get();
+        if (totalCount == 0) {
+            return 0L;
+        }
+        final double adjusted = Math.min(Math.max(percentile, 0.0), 100.0);
+        final long targetCount = Math.max(1L, (long) Math.ceil((adjusted / 100.0) * totalCount));
+        long cumulativeCount = 0;
+        for (int i = 0; i < BUCKET_ARRAY_SIZE; i++) {
+            cumulativeCount += _bucketArray.get(i);
+            if (cumulativeCount >= targetCount) {
+                return Math.min(toHighestEquivalentValue(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos(); // basically no way, but recording in other threads
+    }
+
+    public long getMeanNanos() {
+        final long totalCount = _totalCount.get();
+        return totalCount > 0 ? _totalNanos.get() / totalCount : 0L;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(_title).append(":{count=").append(getTotalCount());
+        if (getTotalCount() > 0) {
+            sb.append(", p50=").append(toMillisExp(getPercentileNanos(50.0)));
+            sb.append(", p90=").append(toMillisExp(getPercentileNanos(90.0)));
+            sb.append(", p99=").append(toMillisExp(getPercentileNanos(99.0)));
+            sb.append(", max=").append(toMillisExp(getMaxNanos()));
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    protected String toMillisExp(long nanos) {
+        return String.format(Locale.ENGLISH, "%.3fms", nanos / 1000000.0);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTitle() {
+        return _title;
+    }
+
+    public long getTotalCount() {
+        return _totalCount.get();
+    }
+
+    public long getTotalNanos() {
+        return _totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return _maxNanos.get();
+    }
+}
@@ -15,10 +15,13 @@
  */
 package org.dbflute.utflute.core.cannonball;
 
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * The named latches for cannon-ball cars. <br>
+ * No monitor lock here so that the latches do not distort the race of cars.
  * @author jflute
  * @since 0.3.8 (2014/02/25 Tuesday)
  */
@@ -32,19 +35,23 @@ public class CannonballLatch {
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
-    protected int _activeCount; // might be decremented e.g. when breakaway
+    /** The state of race: (departure sequence &lt;&lt; 32) | active count, to read them at the same time. */
+    protected final AtomicLong _raceState; // active count might be decremented e.g. when breakaway
     protected final int _initialCount; // to check too many increment
     protected final CannonballLogger _logger;
 
     /** The map of latch related to latch name. (NotNull) */
-    // basically synchronized so plain HashMap is allowed but just in case
-    protected final Map<String, CannonballVaryingLatch> _ourLatchMap = new ConcurrentHashMap<String, CannonballVaryingLatch>();
+    protected final ConcurrentMap<String, CannonballVaryingLatch> _ourLatchMap = new ConcurrentHashMap<String, CannonballVaryingLatch>();
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public CannonballLatch(int threadCount, CannonballLogger logger) {
-        _activeCount = threadCount;
+        if (threadCount > CannonballOption.MAX_THREAD_COUNT) { // active count is never over thread count
+            String msg = "The thread count should be " + CannonballOption.MAX_THREAD_COUNT + " or less: " + threadCount;
+            throw new IllegalArgumentException(msg);
+        }
+        _raceState = new AtomicLong(toRaceState(0, threadCount));
         _initialCount = threadCount;
         _logger = logger;
     }
@@ -61,43 +68,50 @@ public class CannonballLatch {
     }
 
     protected void doAwait(String latchName, int entryNumber, boolean silently) {
-        final CannonballVaryingLatch latch;
-        final boolean last;
-        synchronized (this) {
-            latch = prepareLatch(latchName);
-            if (latch.isReleasedLatch()) { // already released
-                return;
-            }
-            last = latch.isLastCountLatch();
-            if (last) {
-                destroyLatchIfNeeds(latchName);
-                if (!silently) {
-                    _logger.log("Ready...Go! (restart): entryNumber=" + entryNumber);
-                }
-            }
-            latch.countDown(); // ready go if last
+        final CannonballVaryingLatch latch = prepareLatch(latchName);
+        if (latch.isReleasedLatch()) { // already released
+            return;
         }
-        if (!last) {
-            if (isWaitingLatch(latchName)) {
+        final boolean last = latch.arrive(); // ready go if last (and destroyed if needs)
+        if (last) {
+            if (!silently) {
+                _logger.log("Ready...Go! (restart): entryNumber=" + entryNumber);
+            }
+        } else {
+            final long count = latch.getCount();
+            if (count > 0) {
                 // to be exact, possible that threads after restart come here but no problem
                 if (!silently) {
-                    _logger.log("...Awaiting arrivals: entryNumber=" + entryNumber + ", count=" + latch.getCount());
+                    _logger.log("...Awaiting arrivals: entryNumber=" + entryNumber + ", count=" + count);
                 }
                 latch.await();
             }
         }
     }
 
-    protected synchronized CannonballVaryingLatch prepareLatch(String latchName) {
+    protected CannonballVaryingLatch prepareLatch(String latchName) {
         CannonballVaryingLatch latch = _ourLatchMap.get(latchName);
         if (latch == null) {
-            latch = new CannonballVaryingLatch(_activeCount);
-            _ourLatchMap.put(latchName, latch);
+            latch = _ourLatchMap.computeIfAbsent(latchName, key -> {
+                final long raceState = _raceState.get(); // count and sequence at the same time
+                return newVaryingLatch(key, toActiveCount(raceState), toDepartureSequence(raceState));
+            });
         }
+        // departure might happen while creating so catch up here (only once per departure)
+        latch.catchUpDeparture(toDepartureSequence(_raceState.get()));
         return latch;
     }
 
-    protected synchronized boolean isWaitingLatch(String latchName) {
+    protected CannonballVaryingLatch newVaryingLatch(String latchName, int count, int departureSequence) {
+        return new CannonballVaryingLatch(count, departureSequence) {
+            @Override
+            protected void handleReleased() {
+                destroyLatchIfNeeds(latchName, this); // before waiting cars restart
+            }
+        };
+    }
+
+    protected boolean isWaitingLatch(String latchName) {
         final CannonballVaryingLatch latch = _ourLatchMap.get(latchName);
         return latch != null && latch.getCount() > 0;
     }
@@ -106,20 +120,20 @@ public class CannonballLatch {
         return DEFAULT_LATCH_NAME.equals(latchName);
     }
 
-    protected synchronized CannonballVaryingLatch getDefaultLatch() {
+    protected CannonballVaryingLatch getDefaultLatch() {
         return _ourLatchMap.get(DEFAULT_LATCH_NAME);
     }
 
-    protected synchronized void destroyLatchIfNeeds(String latchName) {
-        if (isDefaultLatch(latchName)) {
-            _ourLatchMap.remove(latchName);
+    protected void destroyLatchIfNeeds(String latchName, CannonballVaryingLatch latch) {
+        if (isDefaultLatch(latchName)) { // reusable name so destroy it
+            _ourLatchMap.remove(latchName, latch); // only if the same instance
         }
     }
 
     // ===================================================================================
     //                                                                            ProjectA
     //                                                                            ========
-    public void lineUpProjectA(String projectAKey, int executionNumber, int currenNumber) { // no synchronized here
+    public void lineUpProjectA(String projectAKey, int executionNumber, int currenNumber) {
         awaitSilently(generateProjectALineUpLatchName(projectAKey), currenNumber);
     }
 
@@ -127,7 +141,7 @@ public class CannonballLatch {
         return projectAKey + "::lineUp";
     }
 
-    public void waitForProjectA(String projectAKey, int executionNumber, int currenNumber) { // no synchronized here
+    public void waitForProjectA(String projectAKey, int executionNumber, int currenNumber) {
         awaitSilently(generateProjectAWaitForLatchName(projectAKey), currenNumber);
     }
 
@@ -135,44 +149,50 @@ public class CannonballLatch {
         return projectAKey + "::waitFor";
     }
 
-    public synchronized void leaveProjectAAlone(String projectAKey, int entryNumber) { // e.g. when projectA overtime
+    public void leaveProjectAAlone(String projectAKey, int entryNumber) { // e.g. when projectA overtime
         _logger.log("*Leaving the projectA car alone as overtime: entryNumber=" + entryNumber);
         decrementThreadCount();
         reset(generateProjectALineUpLatchName(projectAKey));
         reset(generateProjectAWaitForLatchName(projectAKey));
     }
 
-    public synchronized void comeBackFromOvertimeProjectA(String projectAKey, int entryNumber) { // e.g. when projectA end with overtime
+    public void comeBackFromOvertimeProjectA(String projectAKey, int entryNumber) { // e.g. when projectA end with overtime
         _logger.log("*Coming back from overtime projectA finally: entryNumber=" + entryNumber);
         incrementThreadCount();
-        if (isWaitingLatch(DEFAULT_LATCH_NAME)) {
-            final CannonballVaryingLatch defaultLatch = getDefaultLatch();
-            if (defaultLatch != null) {
-                defaultLatch.incrementBufferCount();
-            }
+        final CannonballVaryingLatch defaultLatch = getDefaultLatch();
+        if (defaultLatch != null && defaultLatch.getCount() > 0) {
+            defaultLatch.incrementBufferCount(); // no effect if released just now
         }
     }
 
     // ===================================================================================
     //                                                              Break Away or Complete
     //                                                              ======================
-    public synchronized void breakAway(int entryNumber, boolean suppressDecrement) {
+    public void breakAway(int entryNumber, boolean suppressDecrement) {
         final String decrementExp = !suppressDecrement ? "(decrement)" : "";
         _logger.log("*Breaking away from cannonball race " + decrementExp + ": entryNumber=" + entryNumber);
         if (!suppressDecrement) {
-            decrementThreadCount();
+            departThreadCount();
+            catchUpDepartureAll(); // the car never arrives at e.g. projectA line-up
         }
         reset(DEFAULT_LATCH_NAME);
     }
 
-    public synchronized void complete(int entryNumber, boolean suppressDecrement) {
+    public void complete(int entryNumber, boolean suppressDecrement) {
         if (!suppressDecrement) {
             decrementThreadCountSilently();
         }
         reset(DEFAULT_LATCH_NAME); // may be enough to count down only... but just in case 
     }
 
-    public synchronized void reset(String latchName) {
+    protected void catchUpDepartureAll() {
+        final int departureSequence = toDepartureSequence(_raceState.get());
+        for (CannonballVaryingLatch latch : _ourLatchMap.values()) {
+            latch.catchUpDeparture(departureSequence);
+        }
+    }
+
+    public void reset(String latchName) {
         final CannonballVaryingLatch latch = _ourLatchMap.get(latchName);
         if (latch == null) {
             return;
@@ -180,50 +200,80 @@ public class CannonballLatch {
         final long count = latch.getCount();
         if (count > 0) {
             _logger.log("...Resetting your latch: count=" + count);
-            for (int i = 0; i < count; i++) {
-                latch.countDown(); // is thread safe and allowed over count down
-            }
-            destroyLatchIfNeeds(latchName);
+            destroyLatchIfNeeds(latchName, latch); // before waiting cars restart
+            latch.reset();
         }
     }
 
     // ===================================================================================
     //                                                                  Adjust ThreadCount
     //                                                                  ==================
-    protected synchronized void incrementThreadCount() {
-        if (_initialCount > _activeCount) {
-            _logger.log("...Incrementing active thread count: " + _activeCount + " to " + (_activeCount + 1));
-            ++_activeCount;
-        } else {
-            _logger.log("*Too many increment of thread count: first=" + _initialCount + ", current=" + _activeCount);
+    protected void incrementThreadCount() {
+        while (true) {
+            final long current = _raceState.get();
+            final int activeCount = toActiveCount(current);
+            if (_initialCount <= activeCount) {
+                _logger.log("*Too many increment of thread count: first=" + _initialCount + ", current=" + activeCount);
+                return;
+            }
+            if (_raceState.compareAndSet(current, toRaceState(toDepartureSequence(current), activeCount + 1))) {
+                _logger.log("...Incrementing active thread count: " + activeCount + " to " + (activeCount + 1));
+                return;
+            }
         }
     }
 
-    protected synchronized void decrementThreadCount() {
-        doDecrementThreadCount(false);
+    protected void decrementThreadCount() {
+        doDecrementThreadCount(false, false);
     }
 
-    protected synchronized void decrementThreadCountSilently() {
-        doDecrementThreadCount(true);
+    protected void decrementThreadCountSilently() {
+        doDecrementThreadCount(true, false);
     }
 
-    protected synchronized void doDecrementThreadCount(boolean silently) {
-        if (_activeCount > 0) {
-            if (!silently) {
-                _logger.log("...Decrementing active thread count: " + _activeCount + " to " + (_activeCount - 1));
+    protected void departThreadCount() { // decrement as break-away
+        doDecrementThreadCount(false, true);
+    }
+
+    protected void doDecrementThreadCount(boolean silently, boolean departure) {
+        while (true) {
+            final long current = _raceState.get();
+            final int activeCount = toActiveCount(current);
+            if (activeCount <= 0) {
+                // output if silently because of warning
+                _logger.log("*Too many decrement of thread count: current=" + activeCount);
+                return;
+            }
+            final int departureSequence = toDepartureSequence(current) + (departure ? 1 : 0);
+            if (_raceState.compareAndSet(current, toRaceState(departureSequence, activeCount - 1))) {
+                if (!silently) {
+                    _logger.log("...Decrementing active thread count: " + activeCount + " to " + (activeCount - 1));
+                }
+                return;
             }
-            --_activeCount;
-        } else {
-            // output if silently because of warning
-            _logger.log("*Too many decrement of thread count: current=" + _activeCount);
         }
     }
 
+    // -----------------------------------------------------
+    //                                            Race State
+    //                                            ----------
+    protected static long toRaceState(int departureSequence, int activeCount) {
+        return ((long) departureSequence << 32) | (activeCount & 0xFFFFFFFFL);
+    }
+
+    protected static int toActiveCount(long raceState) {
+        return (int) raceState;
+    }
+
+    protected static int toDepartureSequence(long raceState) {
+        return (int) (raceState >>> 32);
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
     public int getActiveCount() {
-        return _activeCount;
+        return toActiveCount(_raceState.get());
     }
 
     public int getInitialCount() {
@@ -35,6 +35,9 @@ public class CannonballOption {
     public static final int DEFAULT_THREAD_COUNT = 10;
     public static final int DEFAULT_REPEAT_COUNT = 1;
 
+    /** The max count of thread (car), because the latch of cars is phaser that has the limit of parties. */
+    public static final int MAX_THREAD_COUNT = CannonballVaryingLatch.MAX_PARTY_COUNT;
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -43,6 +46,9 @@ public class CannonballOption {
     protected boolean _expectedSameResult;
     protected boolean _commitTransaction;
     protected boolean _suppressTransaction;
+    protected boolean _virtualThreads;
+    protected long _durationMillis; // zero means one lap
+    protected int _arrivalRate; // zero means closed-loop
     protected String _expectedExceptionMessageAny;
     protected Class<? extends Throwable> _expectedExceptionTypeAny;
     protected CannonballFinalizer _finalizer;
@@ -51,11 +57,15 @@ public class CannonballOption {
     //                                                                         Easy-to-Use
     //                                                                         ===========
     /**
-     * Set the count of thread (car) for the race. (default: 10)
+     * Set the count of thread (car) for the race. (default: 10, max: 65535)
      * @param threadCount The count of thread (car) for the race. (NotZero, NotMinus)
      * @return this. (NotNull)
      */
     public CannonballOption threadCount(int threadCount) {
+        if (threadCount > MAX_THREAD_COUNT) {
+            String msg = "The argument 'threadCount' should be " + MAX_THREAD_COUNT + " or less (limit of latch): " + threadCount;
+            throw new IllegalArgumentException(msg);
+        }
         _threadCount = threadCount;
         return this;
     }
@@ -88,6 +98,67 @@ public class CannonballOption {
         return this;
     }
 
+    /**
+     * Drive the cars repeatedly until the time passes. (default: one drive per car) <br>
+     * You can reproduce steady load instead of burst race.
+     * <pre>
+     * cannonball(car -&gt; {
+     *     ... <span style="color: #3F7E5E">// called repeatedly for 10 seconds in each car</span>
+     * }, new CannonballOption().threadCount(20).duration(10000));
+     * </pre>
+     * car.restart() and projectA() are for burst race so basically not used in the mode.
+     * @param durationMillis The milliseconds of the run for each repeat. (NotZero, NotMinus)
+     * @return this. (NotNull)
+     */
+    public CannonballOption duration(long durationMillis) {
+        if (durationMillis <= 0) {
+            String msg = "The argument 'durationMillis' should be positive: " + durationMillis;
+            throw new IllegalArgumentException(msg);
+        }
+        _durationMillis = durationMillis;
+        return this;
+    }
+
+    /**
+     * Drive the cars at the target arrival rate (open-loop) in the duration. (default: closed-loop) <br>
+     * The drives are scheduled independently from completion of previous drives,
+     * so the response time (in report) contains queueing when the cars cannot keep up the rate.
+     * <pre>
+     * cannonball(car -&gt; {
+     *     ... <span style="color: #3F7E5E">// 500 drives per second by 20 cars for 10 seconds</span>
+     * }, new CannonballOption().threadCount(20).duration(10000).arrivalRate(500));
+     * </pre>
+     * @param opsPerSecond The count of drives per second for all cars. (NotZero, NotMinus)
+     * @return this. (NotNull)
+     */
+    public CannonballOption arrivalRate(int opsPerSecond) {
+        if (opsPerSecond <= 0) {
+            String msg = "The argument 'opsPerSecond' should be positive: " + opsPerSecond;
+            throw new IllegalArgumentException(msg);
+        }
+        _arrivalRate = opsPerSecond;
+        return this;
+    }
+
+    public boolean isDurationMode() { // internal
+        return _durationMillis > 0;
+    }
+
+    public boolean isArrivalRateMode() { // internal
+        return _arrivalRate > 0;
+    }
+
+    /**
+     * Drive the cars on virtual threads instead of platform threads. (default: platform threads) <br>
+     * You can fire thousands of cars without exhausting native threads. <br>
+     * The virtual threads need Java21 or later, and platform threads are used if unsupported.
+     * @return this. (NotNull)
+     */
+    public CannonballOption virtualThreads() {
+        _virtualThreads = true;
+        return this;
+    }
+
     /**
      * Expect the goal results of all cars are same. <br>
      * You can set goal result like this:
@@ -199,6 +270,22 @@ public class CannonballOption {
         this._suppressTransaction = suppressTransaction;
     }
 
+    public boolean isVirtualThreads() {
+        return _virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this._virtualThreads = virtualThreads;
+    }
+
+    public long getDurationMillis() {
+        return _durationMillis;
+    }
+
+    public int getArrivalRate() {
+        return _arrivalRate;
+    }
+
     public String getExpectedExceptionMessageAny() {
         return _expectedExceptionMessageAny;
     }
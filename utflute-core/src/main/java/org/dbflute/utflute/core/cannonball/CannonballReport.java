@@ -0,0 +1,192 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.cannonball;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The report of cannon-ball run, latency and throughput.
+ * <pre>
+ * CannonballReport report = cannonball(car -&gt; {
+ *     ...
+ * }, new CannonballOption());
+ * log(report.getDriveHistogram().getPercentileNanos(99.0));
+ * log(report.getOpsPerSecond());
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class CannonballReport {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _threadCount;
+    protected final CannonballHistogram _driveHistogram = new CannonballHistogram("drive");
+    protected final CannonballHistogram _startSkewHistogram = new CannonballHistogram("startSkew");
+    protected final CannonballHistogram _restartHistogram = new CannonballHistogram("restart");
+    protected final CannonballHistogram _projectAHistogram = new CannonballHistogram("projectA");
+    protected final CannonballHistogram _responseHistogram = new CannonballHistogram("response");
+    protected final List<Long> _fireNanosList = Collections.synchronizedList(new ArrayList<Long>());
+    protected volatile long _startGateOpenedNanoTime; // updated per fire
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public CannonballReport(int threadCount) {
+        _threadCount = threadCount;
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public void markStartGateOpened() { // called by the last party of start gate
+        _startGateOpenedNanoTime = System.nanoTime();
+    }
+
+    public void recordStartSkew(long carStartedNanoTime) {
+        _startSkewHistogram.record(carStartedNanoTime - _startGateOpenedNanoTime);
+    }
+
+    public void recordDrive(long nanos) {
+        _driveHistogram.record(nanos);
+    }
+
+    public void recordRestart(long nanos) {
+        _restartHistogram.record(nanos);
+    }
+
+    public void recordProjectA(long nanos) {
+        _projectAHistogram.record(nanos);
+    }
+
+    public void recordResponse(long nanos) {
+        _responseHistogram.record(nanos);
+    }
+
+    public void recordFire(long nanos) {
+        _fireNanosList.add(nanos);
+    }
+
+    // ===================================================================================
+    //                                                                          Throughput
+    //                                                                          ==========
+    /**
+     * Get the count of drives per second through all fires.
+     * @return The ops/sec of drive(), zero if no fire.
+     */
+    public double getOpsPerSecond() {
+        final long fireNanos = getTotalFireNanos();
+        return fireNanos > 0 ? _driveHistogram.getTotalCount() / (fireNanos / 1000000000.0) : 0.0;
+    }
+
+    public long getTotalFireNanos() {
+        long total = 0;
+        for (Long nanos : getFireNanosList()) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("report:{threads=").append(_threadCount);
+        sb.append(", fires=").append(_fireNanosList.size());
+        sb.append(", opsPerSec=").append(String.format(Locale.ENGLISH, "%.1f", getOpsPerSecond()));
+        sb.append(", ").append(_driveHistogram);
+        sb.append(", ").append(_startSkewHistogram);
+        if (_restartHistogram.getTotalCount() > 0) {
+            sb.append(", ").append(_restartHistogram);
+        }
+        if (_projectAHistogram.getTotalCount() > 0) {
+            sb.append(", ").append(_projectAHistogram);
+        }
+        if (_responseHistogram.getTotalCount() > 0) {
+            sb.append(", ").append(_responseHistogram);
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getStartGateOpenedNanoTime() { // of latest fire
+        return _startGateOpenedNanoTime;
+    }
+
+    public int getThreadCount() {
+        return _threadCount;
+    }
+
+    /**
+     * Get the histogram of drive() time of each car.
+     * @return The histogram as nanoseconds. (NotNull)
+     */
+    public CannonballHistogram getDriveHistogram() {
+        return _driveHistogram;
+    }
+
+    /**
+     * Get the histogram of skew between start-gate opening and starting of each car.
+     * @return The histogram as nanoseconds. (NotNull)
+     */
+    public CannonballHistogram getStartSkewHistogram() {
+        return _startSkewHistogram;
+    }
+
+    /**
+     * Get the histogram of waiting time in car.restart().
+     * @return The histogram as nanoseconds. (NotNull)
+     */
+    public CannonballHistogram getRestartHistogram() {
+        return _restartHistogram;
+    }
+
+    /**
+     * Get the histogram of time in car.projectA(), including waiting for the plan.
+     * @return The histogram as nanoseconds. (NotNull)
+     */
+    public CannonballHistogram getProjectAHistogram() {
+        return _projectAHistogram;
+    }
+
+    /**
+     * Get the histogram of response time from scheduled arrival to end of drive, including queueing. <br>
+     * This is recorded only when arrival rate (open-loop) mode.
+     * @return The histogram as nanoseconds. (NotNull)
+     */
+    public CannonballHistogram getResponseHistogram() {
+        return _responseHistogram;
+    }
+
+    /**
+     * Get the list of elapsed time for each fire (per repeat).
+     * @return The snapshot list of nanoseconds. (NotNull)
+     */
+    public List<Long> getFireNanosList() {
+        synchronized (_fireNanosList) {
+            return new ArrayList<Long>(_fireNanosList);
+        }
+    }
+}
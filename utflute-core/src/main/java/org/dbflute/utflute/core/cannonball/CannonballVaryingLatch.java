@@ -15,27 +15,64 @@
  */
 package org.dbflute.utflute.core.cannonball;
 
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * The one-shot latch for cannon-ball whose count can vary, based on phaser. <br>
+ * Count down is arrival of party, and buffer count is registration of party.
+ * It is released (terminated) when all parties arrive or it is reset.
  * @author jflute
  * @since 0.4.2 (2014/03/30 Sunday)
  */
 public class CannonballVaryingLatch {
 
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The max count of parties, same as the limit of phaser (registering over it throws exception). */
+    public static final int MAX_PARTY_COUNT = 65535;
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
     protected final int _initialCount;
-    protected final CountDownLatch _latch;
-    protected int _bufferCount;
+    protected final Phaser _phaser;
+    protected final AtomicInteger _appliedDepartureSequence; // to count down for break-away cars only once
+    protected volatile Thread _releasedThread; // to determine last count
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public CannonballVaryingLatch(int initialCount) {
+        this(initialCount, 0);
+    }
+
+    public CannonballVaryingLatch(int initialCount, int departureSequence) {
+        if (initialCount > MAX_PARTY_COUNT) {
+            String msg = "The initial count should be " + MAX_PARTY_COUNT + " or less (limit of phaser): " + initialCount;
+            throw new IllegalArgumentException(msg);
+        }
         _initialCount = initialCount;
-        _latch = new CountDownLatch(initialCount);
+        _phaser = new Phaser(initialCount) {
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) { // in the last arrived thread
+                _releasedThread = Thread.currentThread();
+                handleReleased(); // before waiting threads go
+                return true; // one-shot so terminated
+            }
+        };
+        _appliedDepartureSequence = new AtomicInteger(departureSequence);
+        if (initialCount <= 0) { // same as count-down latch
+            _phaser.forceTermination();
+        }
+    }
+
+    /**
+     * Handle the release by arrivals of all parties. (not called when reset) <br>
+     * It is called in the last arrived thread before waiting threads restart.
+     */
+    protected void handleReleased() { // you can override
     }
 
     // ===================================================================================
@@ -43,37 +80,64 @@ public class CannonballVaryingLatch {
     //                                                                      ==============
     public void await() {
         try {
-            _latch.await();
+            _phaser.awaitAdvanceInterruptibly(0); // returns immediately if already released
         } catch (InterruptedException e) {
-            String msg = "Failed to await by your latch: latch=" + _latch;
+            String msg = "Failed to await by your latch: latch=" + _phaser;
             throw new CannonballRetireException(msg, e);
         }
     }
 
+    /**
+     * Count down the latch as arrival of the current car.
+     * @return true if the latch is released by this arrival.
+     */
+    public boolean arrive() {
+        countDown();
+        return _releasedThread == Thread.currentThread();
+    }
+
     public void countDown() {
-        if (countDownBufferCount()) {
-            return;
+        try {
+            _phaser.arrive(); // no effect if already released
+        } catch (IllegalStateException ignored) {
+            // arrived at the moment of releasing by other thread
+            // so ignored because over count down is allowed like count-down latch
         }
-        _latch.countDown();
     }
 
-    public synchronized long getCount() {
-        return _latch.getCount() + _bufferCount;
+    public long getCount() {
+        return _phaser.isTerminated() ? 0 : _phaser.getUnarrivedParties();
+    }
+
+    public void reset() {
+        _phaser.forceTermination(); // releases all waiting threads
     }
 
     // ===================================================================================
     //                                                                        Buffer Count
     //                                                                        ============
-    public synchronized void incrementBufferCount() {
-        ++_bufferCount;
+    public void incrementBufferCount() {
+        _phaser.register(); // no effect if already released
     }
 
-    protected synchronized boolean countDownBufferCount() {
-        if (_bufferCount > 0) {
-            --_bufferCount;
-            return true;
+    // ===================================================================================
+    //                                                                           Departure
+    //                                                                           =========
+    /**
+     * Catch up the departures (break-away cars) that happened after the latch is created. <br>
+     * Each departure counts down the latch only once even if called by several threads.
+     * @param departureSequence The latest sequence of departures in the race.
+     */
+    public void catchUpDeparture(int departureSequence) {
+        int applied;
+        while ((applied = _appliedDepartureSequence.get()) < departureSequence) {
+            if (_appliedDepartureSequence.compareAndSet(applied, departureSequence)) {
+                for (int i = applied; i < departureSequence; i++) {
+                    countDown(); // as arrival of the departed car
+                }
+                return;
+            }
         }
-        return false;
     }
 
     // ===================================================================================
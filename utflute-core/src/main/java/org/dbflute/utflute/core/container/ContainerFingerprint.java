@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.container;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The fingerprint of container configuration, which is the key of container pool. <br>
+ * It consists of config identity (e.g. config file), types of mock instances and non-binding types.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class ContainerFingerprint {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _configIdentity;
+    protected final List<String> _mockTypeNameList; // sorted, immutable
+    protected final List<String> _nonBindingTypeNameList; // sorted, immutable
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param configIdentity The identity of container configuration, e.g. config file. (NotNull)
+     * @param mockInstanceList The list of mock instance registered for container. (NullAllowed: when no mock)
+     * @param nonBindingTypeList The list of non-binding type. (NullAllowed: when no type)
+     */
+    public ContainerFingerprint(String configIdentity, List<Object> mockInstanceList, List<Class<?>> nonBindingTypeList) {
+        if (configIdentity == null) {
+            String msg = "The argument 'configIdentity' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _configIdentity = configIdentity;
+        final List<String> mockTypeNameList = new ArrayList<String>();
+        if (mockInstanceList != null) {
+            for (Object mockInstance : mockInstanceList) {
+                mockTypeNameList.add(mockInstance.getClass().getName());
+            }
+        }
+        _mockTypeNameList = toSortedImmutableList(mockTypeNameList);
+        final List<String> nonBindingTypeNameList = new ArrayList<String>();
+        if (nonBindingTypeList != null) {
+            for (Class<?> nonBindingType : nonBindingTypeList) {
+                nonBindingTypeNameList.add(nonBindingType.getName());
+            }
+        }
+        _nonBindingTypeNameList = toSortedImmutableList(nonBindingTypeNameList);
+    }
+
+    protected List<String> toSortedImmutableList(List<String> nameList) {
+        Collections.sort(nameList); // registration order does not matter
+        return Collections.unmodifiableList(nameList);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ContainerFingerprint)) {
+            return false;
+        }
+        final ContainerFingerprint other = (ContainerFingerprint) obj;
+        return _configIdentity.equals(other._configIdentity) && _mockTypeNameList.equals(other._mockTypeNameList)
+                && _nonBindingTypeNameList.equals(other._nonBindingTypeNameList);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = _configIdentity.hashCode();
+        hash = 31 * hash + _mockTypeNameList.hashCode();
+        hash = 31 * hash + _nonBindingTypeNameList.hashCode();
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "fingerprint:{" + _configIdentity + ", mocks=" + _mockTypeNameList + ", nonBindings=" + _nonBindingTypeNameList + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getConfigIdentity() {
+        return _configIdentity;
+    }
+
+    public List<String> getMockTypeNameList() {
+        return _mockTypeNameList;
+    }
+
+    public List<String> getNonBindingTypeNameList() {
+        return _nonBindingTypeNameList;
+    }
+}
@@ -0,0 +1,475 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.container;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The pool of DI containers keyed by configuration fingerprint, shared by test cases in JVM. <br>
+ * Each configuration is booted once, and the least-recently-used container is destroyed
+ * when the count or the memory (by explicit estimator) exceeds the limit.
+ * <pre>
+ * CONTAINER container = pool.prepareContainer(fingerprint, () -&gt; {
+ *     return bootContainer(); // called only if not pooled yet
+ * }, container -&gt; {
+ *     container.destroy(); // called when evicted and released
+ * });
+ * try {
+ *     ... // use the container
+ * } finally {
+ *     pool.releaseContainer(container); // the leased container is not destroyed until released
+ * }
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class ContainerPool {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _logger = LoggerFactory.getLogger(ContainerPool.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _maxContainerCount;
+    protected final long _maxMemoryBytes; // Long.MAX_VALUE means no memory limit
+    protected final ToLongFunction<Object> _memoryEstimator; // called once after boot
+    protected final LinkedHashMap<ContainerFingerprint, PooledContainer> _containerMap = // access-order for LRU
+            new LinkedHashMap<ContainerFingerprint, PooledContainer>(16, 0.75f, true);
+    protected final List<PooledContainer> _retiredList = new ArrayList<PooledContainer>(); // evicted but still leased
+    protected long _totalMemoryBytes; // guarded by this
+    protected ExecutorService _warmUpExecutor; // lazy-loaded, guarded by this
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param maxContainerCount The max count of pooled containers, should be positive.
+     */
+    public ContainerPool(int maxContainerCount) {
+        this(maxContainerCount, Long.MAX_VALUE, container -> 0L);
+    }
+
+    /**
+     * @param maxContainerCount The max count of pooled containers, should be positive.
+     * @param maxMemoryBytes The max bytes of memory used by pooled containers (by the estimator), should be positive.
+     * @param memoryEstimator The estimator of memory bytes of booted container, e.g. by configuration size. (NotNull)
+     */
+    public ContainerPool(int maxContainerCount, long maxMemoryBytes, ToLongFunction<Object> memoryEstimator) {
+        if (maxContainerCount <= 0) {
+            String msg = "The argument 'maxContainerCount' should be positive: " + maxContainerCount;
+            throw new IllegalArgumentException(msg);
+        }
+        if (maxMemoryBytes <= 0) {
+            String msg = "The argument 'maxMemoryBytes' should be positive: " + maxMemoryBytes;
+            throw new IllegalArgumentException(msg);
+        }
+        if (memoryEstimator == null) {
+            String msg = "The argument 'memoryEstimator' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _maxContainerCount = maxContainerCount;
+        _maxMemoryBytes = maxMemoryBytes;
+        _memoryEstimator = memoryEstimator;
+    }
+
+    // ===================================================================================
+    //                                                                   Prepare Container
+    //                                                                   =================
+    /**
+     * Prepare the container for the fingerprint, boot it if not pooled yet. <br>
+     * Containers of different fingerprints can be booted concurrently,
+     * and the other threads wait for the boot of the same fingerprint. <br>
+     * The returned container is leased, so call releaseContainer() after use.
+     * It is not destroyed by eviction (of overflow or by other test cases) until all leases are released.
+     * @param <CONTAINER> The type of container.
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @param booter The callback to boot new container. (NotNull)
+     * @param destroyer The callback to destroy the container when evicted. (NotNull)
+     * @return The pooled or new-booted container. (NotNull)
+     */
+    @SuppressWarnings("unchecked")
+    public <CONTAINER> CONTAINER prepareContainer(ContainerFingerprint fingerprint, Supplier<CONTAINER> booter,
+            Consumer<CONTAINER> destroyer) {
+        assertPreparingArgument(fingerprint, booter, destroyer);
+        final PooledContainer pooled;
+        final boolean booting;
+        synchronized (this) {
+            final PooledContainer existing = _containerMap.get(fingerprint); // also touches LRU order
+            if (existing != null) {
+                pooled = existing;
+                booting = false;
+            } else {
+                pooled = new PooledContainer(fingerprint, (Consumer<Object>) destroyer);
+                _containerMap.put(fingerprint, pooled);
+                booting = true;
+            }
+            pooled.lease(); // before boot not to be evicted as overflow
+        }
+        try {
+            if (booting) {
+                bootContainer(pooled, booter);
+            }
+            return (CONTAINER) pooled.awaitContainer();
+        } catch (RuntimeException | Error e) { // boot failure, not destroyed because of no container
+            synchronized (this) {
+                pooled.release();
+            }
+            throw e;
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                               Release
+    //                                               -------
+    /**
+     * Release the lease of the container prepared by prepareContainer(). <br>
+     * The container is destroyed here if it has been evicted while leased and this is the last lease.
+     * @param container The container returned by prepareContainer(). (NotNull)
+     */
+    public void releaseContainer(Object container) {
+        if (container == null) {
+            String msg = "The argument 'container' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        final List<PooledContainer> destroyedList = new ArrayList<PooledContainer>();
+        synchronized (this) {
+            final PooledContainer pooled = findLeasedContainer(container);
+            if (pooled == null) {
+                String msg = "The container is not leased from the pool: " + container;
+                throw new IllegalStateException(msg);
+            }
+            pooled.release();
+            if (!pooled.isLeased()) {
+                if (_retiredList.remove(pooled)) { // evicted while leased
+                    destroyedList.add(pooled);
+                } else {
+                    destroyedList.addAll(extractOverflowContainer(null)); // overflow kept for the lease
+                }
+            }
+        }
+        destroyContainer(destroyedList);
+    }
+
+    protected PooledContainer findLeasedContainer(Object container) { // in lock
+        for (PooledContainer pooled : _containerMap.values()) {
+            if (pooled.getContainer() == container && pooled.isLeased()) {
+                return pooled;
+            }
+        }
+        for (PooledContainer pooled : _retiredList) { // always leased
+            if (pooled.getContainer() == container) {
+                return pooled;
+            }
+        }
+        return null;
+    }
+
+    // -----------------------------------------------------
+    //                                               Warm-up
+    //                                               -------
+    /**
+     * Start to boot the container in background thread, e.g. called by static initializer of test case. <br>
+     * The later prepareContainer() for the same fingerprint waits only for the remaining boot time. <br>
+     * The boot failure is logged as error at once, and thrown to test cases waiting for the boot.
+     * (test cases after the failure boot it again by themselves)
+     * @param <CONTAINER> The type of container.
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @param booter The callback to boot new container, called in background thread. (NotNull)
+     * @param destroyer The callback to destroy the container when evicted. (NotNull)
+     * @return Was the boot started? (false if already pooled or booting)
+     */
+    @SuppressWarnings("unchecked")
+    public <CONTAINER> boolean warmUpContainer(ContainerFingerprint fingerprint, Supplier<CONTAINER> booter,
+            Consumer<CONTAINER> destroyer) {
+        assertPreparingArgument(fingerprint, booter, destroyer);
+        final PooledContainer pooled;
+        synchronized (this) {
+            if (_containerMap.containsKey(fingerprint)) {
+                return false;
+            }
+            pooled = new PooledContainer(fingerprint, (Consumer<Object>) destroyer);
+            _containerMap.put(fingerprint, pooled);
+            prepareWarmUpExecutor().execute(() -> {
+                try {
+                    bootContainer(pooled, booter);
+                } catch (RuntimeException | Error e) { // waiting threads also fail by the pooled
+                    _logger.error("Failed to warm up the container: " + fingerprint, e);
+                }
+            });
+        }
+        return true;
+    }
+
+    protected ExecutorService prepareWarmUpExecutor() { // in lock
+        if (_warmUpExecutor == null) {
+            _warmUpExecutor = Executors.newCachedThreadPool(runnable -> { // idle thread ends after a while
+                final Thread thread = new Thread(runnable, "utflute-container-warmup");
+                thread.setDaemon(true); // not to block JVM exit
+                return thread;
+            });
+        }
+        return _warmUpExecutor;
+    }
+
+    protected void assertPreparingArgument(ContainerFingerprint fingerprint, Supplier<?> booter, Consumer<?> destroyer) {
+        if (fingerprint == null) {
+            String msg = "The argument 'fingerprint' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        if (booter == null) {
+            String msg = "The argument 'booter' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        if (destroyer == null) {
+            String msg = "The argument 'destroyer' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+    }
+
+    protected void bootContainer(PooledContainer pooled, Supplier<?> booter) {
+        final long before = System.currentTimeMillis();
+        final Object container;
+        try {
+            container = booter.get();
+            if (container == null) {
+                String msg = "The booter returned null container: " + pooled.getFingerprint();
+                throw new IllegalStateException(msg);
+            }
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                _containerMap.remove(pooled.getFingerprint());
+            }
+            pooled.fail(e); // waiting threads also fail
+            throw e;
+        }
+        final long memoryBytes = Math.max(0L, _memoryEstimator.applyAsLong(container));
+        pooled.complete(container, memoryBytes);
+        if (_logger.isDebugEnabled()) {
+            final long cost = System.currentTimeMillis() - before;
+            _logger.debug("...Booting pooled container: " + pooled.getFingerprint() + " (" + cost + "ms, " + memoryBytes + " bytes)");
+        }
+        final List<PooledContainer> evictedList;
+        synchronized (this) {
+            if (_containerMap.get(pooled.getFingerprint()) == pooled) { // not evicted while booting
+                _totalMemoryBytes += memoryBytes;
+            }
+            evictedList = extractOverflowContainer(pooled);
+        }
+        destroyContainer(evictedList);
+    }
+
+    // ===================================================================================
+    //                                                                     Evict Container
+    //                                                                     ===============
+    protected List<PooledContainer> extractOverflowContainer(PooledContainer current) { // in lock
+        final List<PooledContainer> evictedList = new ArrayList<PooledContainer>();
+        final Iterator<Entry<ContainerFingerprint, PooledContainer>> ite = _containerMap.entrySet().iterator();
+        while (ite.hasNext() && isOverflow()) { // from least-recently-used
+            final PooledContainer pooled = ite.next().getValue();
+            if (pooled == current || !pooled.isBooted() || pooled.isLeased()) { // evicted when released later
+                continue;
+            }
+            ite.remove();
+            _totalMemoryBytes -= pooled.getMemoryBytes();
+            evictedList.add(pooled);
+        }
+        return evictedList;
+    }
+
+    protected boolean isOverflow() {
+        return _containerMap.size() > _maxContainerCount || _totalMemoryBytes > _maxMemoryBytes;
+    }
+
+    /**
+     * Evict the container of the fingerprint from the pool, and destroy it. <br>
+     * If the container is leased by other test cases, it is destroyed when the last lease is released.
+     * @param fingerprint The fingerprint of container configuration. (NotNull)
+     * @return Was the container evicted? (false if not pooled or still booting)
+     */
+    public boolean evictContainer(ContainerFingerprint fingerprint) {
+        final List<PooledContainer> evictedList = new ArrayList<PooledContainer>();
+        synchronized (this) {
+            final PooledContainer pooled = _containerMap.get(fingerprint);
+            if (pooled == null || !pooled.isBooted()) {
+                return false;
+            }
+            _containerMap.remove(fingerprint);
+            retireOrEvict(pooled, evictedList);
+        }
+        destroyContainer(evictedList);
+        return true;
+    }
+
+    /**
+     * Evict all booted containers from the pool, and destroy them. (leased ones are destroyed when released)
+     */
+    public void evictAll() {
+        final List<PooledContainer> evictedList = new ArrayList<PooledContainer>();
+        synchronized (this) {
+            final Iterator<PooledContainer> ite = _containerMap.values().iterator();
+            while (ite.hasNext()) {
+                final PooledContainer pooled = ite.next();
+                if (pooled.isBooted()) {
+                    ite.remove();
+                    retireOrEvict(pooled, evictedList);
+                }
+            }
+        }
+        destroyContainer(evictedList);
+    }
+
+    protected void retireOrEvict(PooledContainer pooled, List<PooledContainer> evictedList) { // in lock, removed from map
+        _totalMemoryBytes -= pooled.getMemoryBytes();
+        if (pooled.isLeased()) { // in use by other test case
+            _retiredList.add(pooled);
+        } else {
+            evictedList.add(pooled);
+        }
+    }
+
+    protected void destroyContainer(List<PooledContainer> evictedList) { // out of lock
+        for (PooledContainer pooled : evictedList) {
+            if (_logger.isDebugEnabled()) {
+                _logger.debug("...Destroying pooled container: " + pooled.getFingerprint());
+            }
+            try {
+                pooled.destroy();
+            } catch (RuntimeException continued) {
+                _logger.info("Failed to destroy the pooled container: " + pooled.getFingerprint(), continued);
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                    Pooled Container
+    //                                                                    ================
+    protected static class PooledContainer {
+
+        protected final ContainerFingerprint fingerprint;
+        protected final Consumer<Object> destroyer;
+        protected final CountDownLatch bootedLatch = new CountDownLatch(1);
+        protected volatile Object container; // null allowed: while booting
+        protected volatile Throwable bootFailure; // null allowed: when success
+        protected volatile long memoryBytes;
+        protected int leaseCount; // guarded by pool
+
+        public PooledContainer(ContainerFingerprint fingerprint, Consumer<Object> destroyer) {
+            this.fingerprint = fingerprint;
+            this.destroyer = destroyer;
+        }
+
+        public void complete(Object container, long memoryBytes) {
+            this.memoryBytes = memoryBytes;
+            this.container = container;
+            bootedLatch.countDown();
+        }
+
+        public void fail(Throwable bootFailure) {
+            this.bootFailure = bootFailure;
+            bootedLatch.countDown();
+        }
+
+        public Object awaitContainer() {
+            try {
+                bootedLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                String msg = "Interrupted while waiting for the container boot: " + fingerprint;
+                throw new IllegalStateException(msg, e);
+            }
+            if (bootFailure != null) {
+                String msg = "Failed to boot the container in other thread: " + fingerprint;
+                throw new IllegalStateException(msg, bootFailure);
+            }
+            return container;
+        }
+
+        public void destroy() {
+            destroyer.accept(container);
+        }
+
+        public void lease() {
+            ++leaseCount;
+        }
+
+        public void release() {
+            if (leaseCount <= 0) {
+                String msg = "The container is released more than leased: " + fingerprint;
+                throw new IllegalStateException(msg);
+            }
+            --leaseCount;
+        }
+
+        public boolean isLeased() {
+            return leaseCount > 0;
+        }
+
+        public boolean isBooted() {
+            return container != null;
+        }
+
+        public Object getContainer() {
+            return container;
+        }
+
+        public ContainerFingerprint getFingerprint() {
+            return fingerprint;
+        }
+
+        public long getMemoryBytes() {
+            return memoryBytes;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getMaxContainerCount() {
+        return _maxContainerCount;
+    }
+
+    public long getMaxMemoryBytes() {
+        return _maxMemoryBytes;
+    }
+
+    public synchronized int getPooledCount() {
+        return _containerMap.size();
+    }
+
+    public synchronized int getRetiredCount() {
+        return _retiredList.size();
+    }
+
+    public synchronized long getTotalMemoryBytes() {
+        return _totalMemoryBytes;
+    }
+}
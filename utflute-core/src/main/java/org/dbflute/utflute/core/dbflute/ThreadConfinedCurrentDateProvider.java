@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.dbflute;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import org.dbflute.system.DBFluteSystem;
+import org.dbflute.system.provider.DfCurrentDateProvider;
+import org.dbflute.util.DfTypeUtil;
+
+/**
+ * The current date provider layered over DBFluteSystem, which switches current date per thread. <br>
+ * It is installed to DBFluteSystem while at least one thread switches current date,
+ * and the other threads see the system current time, so test cases can run in parallel.
+ * The switched date is inherited to threads created by the thread. (e.g. cannon-ball cars) <br>
+ * So existing threads (e.g. executor threads created before) do not see it,
+ * and lazily-created pool threads keep the inherited one until the switching thread clears it.
+ * PlainTestCase uses it only if isUseThreadConfinedCurrentDate(), JVM-wide switch as default.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class ThreadConfinedCurrentDateProvider implements DfCurrentDateProvider {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final ThreadConfinedCurrentDateProvider _instance = new ThreadConfinedCurrentDateProvider();
+    protected static final InheritableThreadLocal<SwitchedDate> _switchedLocal = new InheritableThreadLocal<SwitchedDate>();
+    protected static int _switchedThreadCount; // guarded by class lock
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected ThreadConfinedCurrentDateProvider() {
+    }
+
+    // ===================================================================================
+    //                                                                              Switch
+    //                                                                              ======
+    /**
+     * Switch current date of DBFluteSystem for the current thread.
+     * @param dateTimeSupplier The supplier of current date-time for the thread. (NotNull)
+     * @throws IllegalStateException When the thread already switched or other provider exists.
+     */
+    public static synchronized void switchOnThread(Supplier<LocalDateTime> dateTimeSupplier) {
+        if (dateTimeSupplier == null) {
+            String msg = "The argument 'dateTimeSupplier' should not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        if (isSwitchedByCurrentThread(_switchedLocal.get())) { // inherited one can be overridden
+            String msg = "The current date is already switched on the thread, cannot use new provider: " + dateTimeSupplier;
+            throw new IllegalStateException(msg);
+        }
+        if (_switchedThreadCount == 0) {
+            if (DBFluteSystem.hasCurrentDateProvider()) {
+                String msg = "The current date provider already exists, cannot use new provider: " + dateTimeSupplier;
+                throw new IllegalStateException(msg);
+            }
+            DBFluteSystem.unlock();
+            DBFluteSystem.setCurrentDateProvider(_instance);
+        }
+        _switchedLocal.set(new SwitchedDate(dateTimeSupplier, Thread.currentThread()));
+        ++_switchedThreadCount;
+    }
+
+    /**
+     * Clear the switched current date for the current thread. <br>
+     * The provider is removed from DBFluteSystem when no thread switches current date.
+     */
+    public static synchronized void clearOnThread() {
+        final SwitchedDate switched = _switchedLocal.get();
+        if (!isSwitchedByCurrentThread(switched)) {
+            return;
+        }
+        switched.cleared = true; // for inherited threads
+        _switchedLocal.remove();
+        if (--_switchedThreadCount == 0) {
+            DBFluteSystem.unlock();
+            DBFluteSystem.setCurrentDateProvider(null);
+        }
+    }
+
+    protected static boolean isSwitchedByCurrentThread(SwitchedDate switched) {
+        return switched != null && switched.owner == Thread.currentThread();
+    }
+
+    protected static class SwitchedDate {
+
+        protected final Supplier<LocalDateTime> supplier;
+        protected final Thread owner; // to distinguish inherited one
+        protected volatile boolean cleared;
+
+        public SwitchedDate(Supplier<LocalDateTime> supplier, Thread owner) {
+            this.supplier = supplier;
+            this.owner = owner;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Current Date
+    //                                                                        ============
+    public long currentTimeMillis() {
+        final SwitchedDate switched = _switchedLocal.get();
+        if (switched == null || switched.cleared) { // other thread switches
+            return System.currentTimeMillis();
+        }
+        final LocalDateTime currentDateTime = switched.supplier.get();
+        if (currentDateTime == null) {
+            String msg = "The supplier returned null current date-time: " + switched.supplier;
+            throw new IllegalStateException(msg);
+        }
+        return DfTypeUtil.toDate(currentDateTime).getTime();
+    }
+}
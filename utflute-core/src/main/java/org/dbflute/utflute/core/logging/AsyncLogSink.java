@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * The asynchronous sink of test logging, lines are written by background writer in batches. <br>
+ * The lines are kept in bounded ring buffer (caller waits if full), and the order of enqueue is kept.
+ * The writer thread calls the logger so thread name in log is the writer's. <br>
+ * The JVM sink is shared by test cases running in parallel, so flush() also waits for lines of other test cases.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class AsyncLogSink {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int DEFAULT_CAPACITY = 8192;
+    protected static final int DEFAULT_BATCH_SIZE = 256;
+
+    /** The sink shared in JVM. (NullAllowed: before first use) */
+    private static AsyncLogSink _jvmSink;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final BlockingQueue<LogLine> _lineQueue; // ring buffer
+    protected final int _batchSize;
+    protected final AtomicLong _enqueuedCount = new AtomicLong();
+    protected final AtomicLong _writtenCount = new AtomicLong();
+    protected final Object _flushLock = new Object();
+    protected final Thread _writerThread;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public AsyncLogSink(int capacity, int batchSize) {
+        if (capacity <= 0 || batchSize <= 0) {
+            String msg = "The capacity and batch size should be positive: capacity=" + capacity + ", batchSize=" + batchSize;
+            throw new IllegalArgumentException(msg);
+        }
+        _lineQueue = new ArrayBlockingQueue<LogLine>(capacity);
+        _batchSize = batchSize;
+        _writerThread = new Thread(() -> writeLoop(), "utflute-log-writer");
+        _writerThread.setDaemon(true); // lines are flushed by test cases
+        _writerThread.start();
+    }
+
+    /**
+     * Get the sink shared in JVM, created at first call.
+     * @return The shared instance. (NotNull)
+     */
+    public static synchronized AsyncLogSink getJvmSink() {
+        if (_jvmSink == null) {
+            _jvmSink = new AsyncLogSink(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+        }
+        return _jvmSink;
+    }
+
+    // ===================================================================================
+    //                                                                             Enqueue
+    //                                                                             =======
+    /**
+     * Enqueue the debug line to be written by the writer thread. <br>
+     * If the thread is interrupted while waiting, it keeps waiting to keep the order,
+     * and the interrupted status is restored after the enqueue.
+     * @param logger The logger to write the line. (NotNull)
+     * @param msg The message of the line. (NullAllowed)
+     * @param cause The exception for stack traces. (NullAllowed)
+     */
+    public void enqueue(Logger logger, String msg, Throwable cause) {
+        final LogLine line = new LogLine(logger, msg, cause);
+        _enqueuedCount.incrementAndGet();
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    _lineQueue.put(line); // waits if full
+                    break;
+                } catch (InterruptedException e) { // retry not to write it out of order
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Writer
+    //                                                                              ======
+    protected void writeLoop() {
+        final List<LogLine> batchList = new ArrayList<LogLine>(_batchSize);
+        while (true) {
+            try {
+                batchList.add(_lineQueue.take());
+            } catch (InterruptedException e) { // basically no way, daemon thread
+                return;
+            }
+            _lineQueue.drainTo(batchList, _batchSize - 1);
+            for (LogLine line : batchList) {
+                try {
+                    line.write();
+                } catch (RuntimeException ignored) { // logging failure should not stop the writer
+                }
+            }
+            markWritten(batchList.size());
+            batchList.clear();
+        }
+    }
+
+    protected void markWritten(int count) {
+        _writtenCount.addAndGet(count);
+        synchronized (_flushLock) {
+            _flushLock.notifyAll();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Flush
+    //                                                                               =====
+    /**
+     * Wait for the lines enqueued before this call to be written. <br>
+     * The lines are counted in the sink, so the lines of other threads enqueued before this call are also waited for.
+     * (no marker per test case because it is enough for tear-down that own lines are written)
+     */
+    public void flush() {
+        final long targetCount = _enqueuedCount.get();
+        synchronized (_flushLock) {
+            while (_writtenCount.get() < targetCount && _writerThread.isAlive()) { // not to hang if writer dies
+                try {
+                    _flushLock.wait(100L); // timeout just in case
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Log Line
+    //                                                                            ========
+    protected static class LogLine {
+
+        protected final Logger logger;
+        protected final String msg; // null allowed
+        protected final Throwable cause; // null allowed
+
+        public LogLine(Logger logger, String msg, Throwable cause) {
+            this.logger = logger;
+            this.msg = msg;
+            this.cause = cause;
+        }
+
+        public void write() {
+            if (cause != null) {
+                logger.debug(msg, cause);
+            } else {
+                logger.debug(msg);
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getEnqueuedCount() {
+        return _enqueuedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return _writtenCount.get();
+    }
+}
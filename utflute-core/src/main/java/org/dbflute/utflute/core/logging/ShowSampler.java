@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.logging;
+
+import java.util.function.Consumer;
+
+/**
+ * The sampler of elements for show-log, which logs head elements immediately and keeps only tail elements. <br>
+ * So huge results (e.g. stream, cursor) are not materialized or logged fully.
+ * <pre>
+ * [cursor]
+ *   Member:{1, Stojkovic}  <span style="color: #3F7E5E">// head elements</span>
+ *   ...
+ *   ... (99880 elided)
+ *   Member:{99991, Pixy}   <span style="color: #3F7E5E">// tail elements</span>
+ *   ...
+ *   (size=100000, elided=99880)
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class ShowSampler {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Consumer<String> _lineLogger;
+    protected final int _headLimit;
+    protected final Object[] _tailRing; // null element allowed
+    protected long _count;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param lineLogger The logger of one line. (NotNull)
+     * @param headLimit The count of head elements to be logged, zero or positive.
+     * @param tailLimit The count of tail elements to be logged, zero or positive.
+     */
+    public ShowSampler(Consumer<String> lineLogger, int headLimit, int tailLimit) {
+        if (headLimit < 0 || tailLimit < 0) {
+            String msg = "The head and tail limit should not be minus: head=" + headLimit + ", tail=" + tailLimit;
+            throw new IllegalArgumentException(msg);
+        }
+        _lineLogger = lineLogger;
+        _headLimit = headLimit;
+        _tailRing = new Object[tailLimit];
+    }
+
+    // ===================================================================================
+    //                                                                              Sample
+    //                                                                              ======
+    /**
+     * Add the element, logged if head or kept if tail candidate.
+     * @param element The element of result. (NullAllowed)
+     */
+    public void add(Object element) {
+        final long index = _count++;
+        if (index < _headLimit) {
+            _lineLogger.accept("  " + element);
+        } else if (_tailRing.length > 0) {
+            _tailRing[(int) ((index - _headLimit) % _tailRing.length)] = element; // overrides the oldest
+        }
+    }
+
+    /**
+     * Finish the sampling, logging the tail elements and the summary line.
+     */
+    public void finish() {
+        final long restCount = _count - Math.min(_count, _headLimit);
+        final int tailCount = (int) Math.min(restCount, _tailRing.length);
+        final long elidedCount = restCount - tailCount;
+        if (elidedCount > 0) {
+            _lineLogger.accept("  ... (" + elidedCount + " elided)");
+        }
+        final long firstTail = restCount - tailCount; // index in rest elements
+        for (long i = firstTail; i < restCount; i++) {
+            _lineLogger.accept("  " + _tailRing[(int) (i % _tailRing.length)]);
+        }
+        _lineLogger.accept("  (size=" + _count + ", elided=" + elidedCount + ")");
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getCount() {
+        return _count;
+    }
+}
@@ -24,6 +24,7 @@ import junit.framework.AssertionFailedError;
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 
 /**
+ * The manager of mark here, thread-safe for marks from other threads. (e.g. cannon-ball cars)
  * @author jflute
  * @since 0.4.0 (2014/03/16 Sunday)
  */
@@ -36,7 +37,7 @@ public class MarkHereManager {
      * Mark here to assert that it goes through the road.
      * @param mark The your original mark expression as string. (NotNull)
      */
-    public void mark(String mark) {
+    public synchronized void mark(String mark) {
         if (_xmarkMap == null) {
             _xmarkMap = new LinkedHashMap<String, MarkHereInfo>();
         }
@@ -52,7 +53,7 @@ public class MarkHereManager {
      * Assert the mark is marked. (found in existing marks)
      * @param mark The your original mark expression as string. (NotNull)
      */
-    public void assertMarked(String mark) {
+    public synchronized void assertMarked(String mark) {
         boolean existsMark = false;
         if (_xmarkMap != null) {
             final MarkHereInfo info = _xmarkMap.get(mark);
@@ -89,11 +90,11 @@ public class MarkHereManager {
      * @param mark The your original mark expression as string. (NotNull)
      * @return The determination, true or false.
      */
-    public boolean isMarked(String mark) {
+    public synchronized boolean isMarked(String mark) {
         return _xmarkMap != null && _xmarkMap.get(mark) != null;
     }
 
-    public void checkNonAssertedMark() {
+    public synchronized void checkNonAssertedMark() {
         if (_xmarkMap == null) {
             return;
         }
@@ -132,7 +133,7 @@ public class MarkHereManager {
         }
     }
 
-    public void clearMarkMap() {
+    public synchronized void clearMarkMap() {
         if (_xmarkMap != null) {
             _xmarkMap.clear();
             _xmarkMap = null;
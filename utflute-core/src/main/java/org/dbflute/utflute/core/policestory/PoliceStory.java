@@ -17,7 +17,11 @@ package org.dbflute.utflute.core.policestory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
 
+import org.dbflute.utflute.core.policestory.classfile.PoliceStoryClassFileChase;
+import org.dbflute.utflute.core.policestory.classfile.PoliceStoryClassFileHandler;
 import org.dbflute.utflute.core.policestory.javaclass.PoliceStoryJavaClassChase;
 import org.dbflute.utflute.core.policestory.javaclass.PoliceStoryJavaClassHandler;
 import org.dbflute.utflute.core.policestory.jspfile.PoliceStoryJspFileChase;
@@ -29,6 +33,8 @@ import org.dbflute.utflute.core.policestory.pjresource.PoliceStoryProjectResourc
 import org.dbflute.utflute.core.policestory.webresource.PoliceStoryWebResourceChase;
 import org.dbflute.utflute.core.policestory.webresource.PoliceStoryWebResourceHandler;
 
+import junit.framework.TestCase;
+
 /**
  * @author jflute
  * @since 0.4.0 (2014/03/16 Sunday)
@@ -53,26 +59,130 @@ public class PoliceStory {
     //                                                                               Chase
     //                                                                               =====
     public void chaseJavaClass(PoliceStoryJavaClassHandler handler) {
-        createJavaClassChase(getSrcMainJavaDir()).chaseJavaClass(handler);
+        final boolean changedOnly = handler.isChangedOnly();
+        final File srcMainJavaDir = getSrcMainJavaDir();
+        createJavaClassChase(srcMainJavaDir).changedOnly(prepareFingerprintIndex("javaclass", srcMainJavaDir, handler, changedOnly))
+                .chaseJavaClass(handler);
         if (handler.containsTestClass()) { // simple way #for_now
-            createJavaClassChase(getSrcTestJavaDir()).chaseJavaClass(handler);
+            final File srcTestJavaDir = getSrcTestJavaDir();
+            createJavaClassChase(srcTestJavaDir).changedOnly(prepareFingerprintIndex("javaclass", srcTestJavaDir, handler, changedOnly))
+                    .chaseJavaClass(handler);
+        }
+    }
+
+    public void chaseClassFile(PoliceStoryClassFileHandler handler) {
+        final boolean changedOnly = handler.isChangedOnly();
+        final File classesDir = getTargetClassesDir();
+        createClassFileChase(classesDir).changedOnly(prepareFingerprintIndex("classfile", classesDir, handler, changedOnly))
+                .chaseClassFile(handler);
+        if (handler.containsTestClass()) {
+            final File testClassesDir = getTargetTestClassesDir();
+            createClassFileChase(testClassesDir).changedOnly(prepareFingerprintIndex("classfile", testClassesDir, handler, changedOnly))
+                    .chaseClassFile(handler);
         }
     }
 
     public void chaseJspFile(PoliceStoryJspFileHandler handler) {
-        createJspFileChase(getWebappDir()).chaseJspFile(handler);
+        final File webappDir = getWebappDir();
+        createJspFileChase(webappDir).changedOnly(prepareFingerprintIndex("jspfile", webappDir, handler, handler.isChangedOnly()))
+                .chaseJspFile(handler);
     }
 
     public void chaseMiscFile(PoliceStoryMiscFileHandler handler, File miscDir) {
-        createMiscFileChase(miscDir).chaseMiscFile(handler);
+        createMiscFileChase(miscDir).changedOnly(prepareFingerprintIndex("miscfile", miscDir, handler, handler.isChangedOnly()))
+                .chaseMiscFile(handler);
     }
 
     public void chaseProjectResource(PoliceStoryProjectResourceHandler handler) {
-        createProjectResourceChase(getProjectDir()).chaseProjectResource(handler);
+        final File projectDir = getProjectDir();
+        createProjectResourceChase(projectDir)
+                .changedOnly(prepareFingerprintIndex("pjresource", projectDir, handler, handler.isChangedOnly()))
+                .chaseProjectResource(handler);
     }
 
     public void chaseWebResource(PoliceStoryWebResourceHandler handler) {
-        createWebResourceChase(getWebappDir()).chaseWebResource(handler);
+        final File webappDir = getWebappDir();
+        createWebResourceChase(webappDir).changedOnly(prepareFingerprintIndex("webresource", webappDir, handler, handler.isChangedOnly()))
+                .chaseWebResource(handler);
+    }
+
+    // ===================================================================================
+    //                                                                   Fingerprint Index
+    //                                                                   =================
+    /**
+     * Prepare the fingerprint index for changed-only chase.
+     * @param chaseTitle The title of chase for the index file name. e.g. javaclass (NotNull)
+     * @param baseDir The base directory of chased files. (NotNull)
+     * @param handler The handler of the chase, its class is used as identity and version. (NotNull)
+     * @param changedOnly Is it changed-only mode?
+     * @return The index loaded from the file. (NullAllowed: if not changed-only mode)
+     */
+    protected PoliceStoryFingerprintIndex prepareFingerprintIndex(String chaseTitle, File baseDir, Object handler, boolean changedOnly) {
+        if (!changedOnly) {
+            return null;
+        }
+        final String handlerIdentity = deriveHandlerIdentity(handler);
+        final String indexKey = chaseTitle + "|" + baseDir.getAbsolutePath() + "|" + handlerIdentity;
+        final String indexName = chaseTitle + "-" + Integer.toHexString(indexKey.hashCode()) + ".tsv";
+        final File indexFile = new File(getFingerprintIndexDir(), indexName);
+        return newFingerprintIndex(indexFile, baseDir, deriveHandlerVersion(handler));
+    }
+
+    protected PoliceStoryFingerprintIndex newFingerprintIndex(File indexFile, File baseDir, String handlerVersion) {
+        return new PoliceStoryFingerprintIndex(indexFile, baseDir, handlerVersion);
+    }
+
+    protected String deriveHandlerIdentity(Object handler) {
+        final String className = handler.getClass().getName();
+        final int lambdaIndex = className.indexOf("$$Lambda");
+        if (lambdaIndex >= 0) { // lambda class name is unstable so test case instead
+            return className.substring(0, lambdaIndex) + "$$Lambda@" + deriveTestCaseIdentity();
+        }
+        return className;
+    }
+
+    protected String deriveTestCaseIdentity() {
+        final String className = _testCase.getClass().getName();
+        if (_testCase instanceof TestCase) { // to identify test method
+            return className + "." + ((TestCase) _testCase).getName();
+        }
+        return className;
+    }
+
+    protected String deriveHandlerVersion(Object handler) { // changed if the handler code is changed
+        final Class<?> handlerType = handler.getClass();
+        final String handlerName = handlerType.getName();
+        final int dollarIndex = handlerName.indexOf('$');
+        final String topLevelName = dollarIndex >= 0 ? handlerName.substring(0, dollarIndex) : handlerName; // contains lambda body
+        final CRC32 crc = new CRC32();
+        updateClassBytes(crc, handlerType.getClassLoader(), topLevelName);
+        if (!topLevelName.equals(handlerName)) { // e.g. anonymous class
+            updateClassBytes(crc, handlerType.getClassLoader(), handlerName); // not found if lambda
+        }
+        return Long.toHexString(crc.getValue());
+    }
+
+    protected void updateClassBytes(CRC32 crc, ClassLoader loader, String className) {
+        if (loader == null) { // e.g. bootstrap
+            return;
+        }
+        final byte[] buffer = new byte[8192];
+        try (InputStream ins = loader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (ins == null) {
+                return;
+            }
+            int readSize;
+            while ((readSize = ins.read(buffer)) >= 0) {
+                crc.update(buffer, 0, readSize);
+            }
+        } catch (IOException e) {
+            String msg = "Failed to read the class bytes: " + className;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    protected File getFingerprintIndexDir() { // you can override
+        return new File(getProjectPath() + "/target/utflute/policestory/");
     }
 
     // ===================================================================================
@@ -82,6 +192,10 @@ public class PoliceStory {
         return new PoliceStoryJavaClassChase(_testCase, javaSourceDir);
     }
 
+    protected PoliceStoryClassFileChase createClassFileChase(File classesDir) {
+        return new PoliceStoryClassFileChase(_testCase, classesDir);
+    }
+
     protected PoliceStoryJspFileChase createJspFileChase(File jspDir) {
         return new PoliceStoryJspFileChase(_testCase, jspDir);
     }
@@ -118,6 +232,14 @@ public class PoliceStory {
         return new File(getProjectPath() + "/src/test/resources/");
     }
 
+    protected File getTargetClassesDir() {
+        return new File(getProjectPath() + "/target/classes/");
+    }
+
+    protected File getTargetTestClassesDir() {
+        return new File(getProjectPath() + "/target/test-classes/");
+    }
+
     protected File getWebappDir() {
         return new File(getProjectPath() + "/src/main/webapp/");
     }
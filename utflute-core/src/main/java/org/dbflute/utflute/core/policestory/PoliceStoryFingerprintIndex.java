@@ -0,0 +1,278 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.policestory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * The persistent index of file fingerprints for changed-only chase. <br>
+ * The fingerprint is (path, size, last-modified, content hash, verdict of last handling),
+ * and the file is skipped if unchanged and passed at the last chase.
+ * <pre>
+ * e.g. target/utflute/policestory/javaclass-1a2b3c4d.tsv
+ *  # handlerVersion=5e6f7a8b
+ *  org/docksidestage/Sea.java	1234	1700000000000	9c0d1e2f	passed
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class PoliceStoryFingerprintIndex {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String VERDICT_PASSED = "passed";
+    public static final String VERDICT_FAILED = "failed";
+    protected static final String VERSION_PREFIX = "# handlerVersion=";
+    protected static final String DELIMITER = "\t";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File _indexFile;
+    protected final Path _basePath; // absolute and normalized
+    protected final String _handlerVersion; // to invalidate all when the handler is changed
+    protected final Map<String, PoliceStoryFingerprint> _previousMap = new ConcurrentHashMap<String, PoliceStoryFingerprint>();
+    protected final Map<String, PoliceStoryFingerprint> _currentMap = new ConcurrentHashMap<String, PoliceStoryFingerprint>();
+    protected final Set<String> _visitedPathSet = ConcurrentHashMap.newKeySet();
+    protected final AtomicInteger _skippedCount = new AtomicInteger();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param indexFile The file of the index, might not exist yet. (NotNull)
+     * @param baseDir The base directory of chased files, their paths are relative to it. (NotNull)
+     * @param handlerVersion The version of handler, e.g. hash of class bytes. (NotNull)
+     */
+    public PoliceStoryFingerprintIndex(File indexFile, File baseDir, String handlerVersion) {
+        _indexFile = indexFile;
+        _basePath = baseDir.toPath().toAbsolutePath().normalize();
+        _handlerVersion = handlerVersion;
+        load();
+    }
+
+    protected void load() {
+        if (!_indexFile.exists()) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(_indexFile.toPath(), StandardCharsets.UTF_8)) {
+            final String versionLine = reader.readLine();
+            if (versionLine == null || !versionLine.equals(VERSION_PREFIX + _handlerVersion)) {
+                return; // handler changed so all files should be handled again
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final PoliceStoryFingerprint fingerprint = PoliceStoryFingerprint.parse(line);
+                if (fingerprint != null) { // null if broken line
+                    _previousMap.put(fingerprint.getPath(), fingerprint);
+                }
+            }
+        } catch (IOException e) { // the index is only cache
+            _previousMap.clear();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Fingerprint
+    //                                                                         ===========
+    /**
+     * Is the file unchanged since the last passed handling? (then the file can be skipped) <br>
+     * The content hash is calculated only when the size is same but the last-modified is different.
+     * @param file The chased file. (NotNull)
+     * @return The determination, true or false.
+     */
+    public boolean isUnchanged(File file) {
+        final String path = toRelativePath(file);
+        _visitedPathSet.add(path);
+        final PoliceStoryFingerprint previous = _previousMap.get(path);
+        if (previous == null || !VERDICT_PASSED.equals(previous.getVerdict())) {
+            return false;
+        }
+        final long size = file.length();
+        if (previous.getSize() != size) {
+            return false;
+        }
+        final long lastModified = file.lastModified();
+        if (previous.getLastModified() == lastModified) {
+            _currentMap.put(path, previous);
+        } else { // e.g. touched or checked out again
+            final String hash = calculateHash(file);
+            if (!previous.getHash().equals(hash)) {
+                return false;
+            }
+            _currentMap.put(path, new PoliceStoryFingerprint(path, size, lastModified, hash, VERDICT_PASSED));
+        }
+        _skippedCount.incrementAndGet();
+        return true;
+    }
+
+    public void markPassed(File file) {
+        mark(file, VERDICT_PASSED);
+    }
+
+    public void markFailed(File file) {
+        mark(file, VERDICT_FAILED);
+    }
+
+    protected void mark(File file, String verdict) {
+        final String path = toRelativePath(file);
+        _visitedPathSet.add(path);
+        _currentMap.put(path, new PoliceStoryFingerprint(path, file.length(), file.lastModified(), calculateHash(file), verdict));
+    }
+
+    protected String toRelativePath(File file) {
+        final Path relativePath = _basePath.relativize(file.toPath().toAbsolutePath().normalize());
+        return relativePath.toString().replace('\\', '/');
+    }
+
+    protected String calculateHash(File file) {
+        final CRC32 crc = new CRC32(); // enough to detect changes, not for security
+        final byte[] buffer = new byte[8192];
+        try (InputStream ins = Files.newInputStream(file.toPath())) {
+            int readSize;
+            while ((readSize = ins.read(buffer)) >= 0) {
+                crc.update(buffer, 0, readSize);
+            }
+        } catch (IOException e) {
+            String msg = "Failed to read the file for hash: " + file;
+            throw new IllegalStateException(msg, e);
+        }
+        return Long.toHexString(crc.getValue());
+    }
+
+    // ===================================================================================
+    //                                                                                Save
+    //                                                                                ====
+    /**
+     * Save the index to the file.
+     * @param completed Is the chase completed? (if false, previous fingerprints of unvisited files are inherited)
+     */
+    public void save(boolean completed) {
+        final Map<String, PoliceStoryFingerprint> savedMap = new TreeMap<String, PoliceStoryFingerprint>(); // sorted for diff
+        if (!completed) { // e.g. stopped by failure
+            for (PoliceStoryFingerprint fingerprint : _previousMap.values()) {
+                if (!_visitedPathSet.contains(fingerprint.getPath())) {
+                    savedMap.put(fingerprint.getPath(), fingerprint);
+                }
+            }
+        } // if completed, unvisited files are deleted files
+        savedMap.putAll(_currentMap);
+        try {
+            final Path indexPath = _indexFile.toPath();
+            Files.createDirectories(indexPath.toAbsolutePath().getParent());
+            final Path tempPath = indexPath.resolveSibling(_indexFile.getName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                writer.write(VERSION_PREFIX + _handlerVersion);
+                writer.newLine();
+                for (PoliceStoryFingerprint fingerprint : savedMap.values()) {
+                    writer.write(fingerprint.toLine());
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ignored) {
+                Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            String msg = "Failed to save the fingerprint index: " + _indexFile;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                   Fingerprint Entry
+    //                                                                   =================
+    public static class PoliceStoryFingerprint {
+
+        protected final String _path; // relative to base directory
+        protected final long _size;
+        protected final long _lastModified;
+        protected final String _hash;
+        protected final String _verdict;
+
+        public PoliceStoryFingerprint(String path, long size, long lastModified, String hash, String verdict) {
+            _path = path;
+            _size = size;
+            _lastModified = lastModified;
+            _hash = hash;
+            _verdict = verdict;
+        }
+
+        public static PoliceStoryFingerprint parse(String line) { // null allowed: when broken line
+            final String[] tokens = line.split(DELIMITER);
+            if (tokens.length != 5) {
+                return null;
+            }
+            try {
+                return new PoliceStoryFingerprint(tokens[0], Long.parseLong(tokens[1]), Long.parseLong(tokens[2]), tokens[3], tokens[4]);
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+
+        public String toLine() {
+            return _path + DELIMITER + _size + DELIMITER + _lastModified + DELIMITER + _hash + DELIMITER + _verdict;
+        }
+
+        public String getPath() {
+            return _path;
+        }
+
+        public long getSize() {
+            return _size;
+        }
+
+        public long getLastModified() {
+            return _lastModified;
+        }
+
+        public String getHash() {
+            return _hash;
+        }
+
+        public String getVerdict() {
+            return _verdict;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getIndexFile() {
+        return _indexFile;
+    }
+
+    public int getSkippedCount() {
+        return _skippedCount.get();
+    }
+}
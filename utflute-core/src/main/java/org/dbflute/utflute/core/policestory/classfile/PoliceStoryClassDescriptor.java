@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.policestory.classfile;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+import org.dbflute.utflute.core.policestory.classfile.PoliceStoryClassFileParser.ClassFileMeta;
+
+/**
+ * The lazy descriptor of compiled class, the class file is parsed when first access. <br>
+ * The class is not loaded so you can check your policy without initializing application classes.
+ * <pre>
+ * policeStoryOfClassFileChase(new PoliceStoryClassFileHandler() {
+ *     public void handle(File classFile, PoliceStoryClassDescriptor descriptor) {
+ *         if (descriptor.getClassName().endsWith("Action")) {
+ *             assertFalse(descriptor.getReferencedTypeSet().contains("java.sql.Connection"));
+ *         }
+ *     }
+ * });
+ * </pre>
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class PoliceStoryClassDescriptor {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final File _classFile;
+    protected ClassFileMeta _classFileMeta; // lazy-loaded, null allowed: before parse
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public PoliceStoryClassDescriptor(File classFile) {
+        _classFile = classFile;
+    }
+
+    // ===================================================================================
+    //                                                                               Parse
+    //                                                                               =====
+    protected synchronized ClassFileMeta prepareClassFileMeta() {
+        if (_classFileMeta == null) {
+            try (DataInputStream ins = new DataInputStream(new BufferedInputStream(Files.newInputStream(_classFile.toPath())))) {
+                _classFileMeta = createClassFileParser().parse(ins);
+            } catch (IOException e) {
+                String msg = "Failed to parse the class file: " + _classFile;
+                throw new IllegalStateException(msg, e);
+            }
+        }
+        return _classFileMeta;
+    }
+
+    protected PoliceStoryClassFileParser createClassFileParser() {
+        return new PoliceStoryClassFileParser();
+    }
+
+    // ===================================================================================
+    //                                                                         Class Basic
+    //                                                                         ===========
+    /**
+     * @return The FQCN of the class, nested class is like 'com.example.Sea$Land'. (NotNull)
+     */
+    public String getClassName() {
+        return prepareClassFileMeta().getClassName();
+    }
+
+    /**
+     * @return The FQCN of super class. (NullAllowed: when java.lang.Object itself)
+     */
+    public String getSuperClassName() {
+        return prepareClassFileMeta().getSuperClassName();
+    }
+
+    /**
+     * @return The read-only list of FQCN of directly-implemented interfaces. (NotNull, EmptyAllowed)
+     */
+    public List<String> getInterfaceNameList() {
+        return prepareClassFileMeta().getInterfaceNameList();
+    }
+
+    /**
+     * @return The read-only list of FQCN of class annotations, both runtime and class retention. (NotNull, EmptyAllowed)
+     */
+    public List<String> getAnnotationNameList() {
+        return prepareClassFileMeta().getAnnotationNameList();
+    }
+
+    /**
+     * Get the types referenced from the class, e.g. in constant pool, field and method signatures, annotations.
+     * @return The read-only set of FQCN, not containing the class itself. (NotNull, EmptyAllowed)
+     */
+    public Set<String> getReferencedTypeSet() {
+        return prepareClassFileMeta().getReferencedTypeSet();
+    }
+
+    public int getAccessFlags() {
+        return prepareClassFileMeta().getAccessFlags();
+    }
+
+    public int getMajorVersion() { // e.g. 52 if Java8
+        return prepareClassFileMeta().getMajorVersion();
+    }
+
+    // ===================================================================================
+    //                                                                       Determination
+    //                                                                       =============
+    public boolean isInterface() {
+        return Modifier.isInterface(getAccessFlags());
+    }
+
+    public boolean isAbstract() {
+        return Modifier.isAbstract(getAccessFlags());
+    }
+
+    public boolean isNestedClass() {
+        return getClassName().contains("$");
+    }
+
+    public boolean hasAnnotation(Class<?> annotationType) {
+        return getAnnotationNameList().contains(annotationType.getName());
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "descriptor:{" + _classFile.getName() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public File getClassFile() {
+        return _classFile;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.policestory.classfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.dbflute.helper.message.ExceptionMessageBuilder;
+import org.dbflute.utflute.core.policestory.PoliceStoryFingerprintIndex;
+
+/**
+ * The chase of compiled classes under the class directory (e.g. target/classes). <br>
+ * The class files are read by constant-pool parser so no class is loaded and initialized.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class PoliceStoryClassFileChase {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Object _testCase;
+    protected final File _classesDir;
+    protected PoliceStoryFingerprintIndex _fingerprintIndex; // null allowed: when all classes
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public PoliceStoryClassFileChase(Object testCase, File classesDir) {
+        _testCase = testCase;
+        _classesDir = classesDir;
+    }
+
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    public PoliceStoryClassFileChase changedOnly(PoliceStoryFingerprintIndex fingerprintIndex) { // null allowed
+        _fingerprintIndex = fingerprintIndex;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                               Chase
+    //                                                                               =====
+    public void chaseClassFile(PoliceStoryClassFileHandler handler) {
+        try {
+            doChase(_classesDir, handler);
+        } catch (RuntimeException e) {
+            throwPoliceStoryOfClassFileChaseFailureException(_classesDir, e);
+        }
+    }
+
+    protected void throwPoliceStoryOfClassFileChaseFailureException(File classesDir, Exception cause) {
+        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+        br.addNotice("Failed to chase class file.");
+        br.addItem("Test Case");
+        br.addElement(_testCase);
+        br.addItem("Classes Directory");
+        br.addElement(classesDir);
+        br.addItem("Cause");
+        br.addElement(cause.getClass());
+        br.addElement("See the cause exception message at 'Caused by'.");
+        final String msg = br.buildExceptionMessage();
+        throw new IllegalStateException(msg, cause);
+    }
+
+    protected void doChase(File classesDir, PoliceStoryClassFileHandler handler) {
+        if (!classesDir.exists()) {
+            String msg = "The classes directory does not exist: " + classesDir;
+            throw new IllegalStateException(msg);
+        }
+        final PoliceStoryFingerprintIndex fingerprintIndex = _fingerprintIndex;
+        boolean completed = false;
+        try (Stream<Path> pathStream = walkClassFile(classesDir.toPath())) {
+            final Iterator<Path> pathIte = pathStream.filter(path -> isTargetClassFile(path)).iterator();
+            while (pathIte.hasNext()) {
+                final File classFile = pathIte.next().toFile();
+                if (fingerprintIndex != null && fingerprintIndex.isUnchanged(classFile)) {
+                    continue; // skip unchanged and passed
+                }
+                boolean failure = false;
+                try {
+                    handler.handle(classFile, createClassDescriptor(classFile));
+                } catch (RuntimeException | Error e) {
+                    failure = true;
+                    throw e;
+                } finally {
+                    if (fingerprintIndex != null) {
+                        if (failure) {
+                            fingerprintIndex.markFailed(classFile);
+                        } else {
+                            fingerprintIndex.markPassed(classFile);
+                        }
+                    }
+                }
+            }
+            completed = true;
+        } finally {
+            if (fingerprintIndex != null) {
+                fingerprintIndex.save(completed);
+            }
+        }
+    }
+
+    protected Stream<Path> walkClassFile(Path classesPath) {
+        try {
+            return Files.walk(classesPath, FileVisitOption.FOLLOW_LINKS);
+        } catch (IOException e) {
+            String msg = "Failed to walk the classes directory: " + classesPath;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    protected boolean isTargetClassFile(Path path) {
+        final String fileName = path.getFileName().toString();
+        if ("package-info.class".equals(fileName) || "module-info.class".equals(fileName)) {
+            return false; // except them
+        }
+        return fileName.endsWith(".class") && Files.isRegularFile(path); // contains nested classes
+    }
+
+    protected PoliceStoryClassDescriptor createClassDescriptor(File classFile) {
+        return new PoliceStoryClassDescriptor(classFile); // parsed when first access
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.policestory.classfile;
+
+import java.io.File;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public interface PoliceStoryClassFileHandler {
+
+    /**
+     * @param classFile The file object for the compiled class, e.g. under target/classes. (NotNull)
+     * @param descriptor The lazy descriptor of the class, parsed without class loading. (NotNull)
+     */
+    void handle(File classFile, PoliceStoryClassDescriptor descriptor);
+
+    /**
+     * @return true if the test classes (under e.g. target/test-classes) are target.
+     */
+    default boolean containsTestClass() {
+        return false;
+    }
+
+    /**
+     * Does it handle only changed class files since the last chase? (skipping unchanged and passed ones)
+     * @return true if changed-only mode.
+     */
+    default boolean isChangedOnly() {
+        return false;
+    }
+}
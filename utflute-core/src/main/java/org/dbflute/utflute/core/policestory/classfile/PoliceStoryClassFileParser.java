@@ -0,0 +1,308 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.policestory.classfile;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The lightweight parser of class file, reading only constant pool, class header and descriptors. <br>
+ * No class is loaded so static initializers are not executed and metaspace is not used.
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class PoliceStoryClassFileParser {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int MAGIC = 0xCAFEBABE;
+
+    protected static final int CONSTANT_Utf8 = 1;
+    protected static final int CONSTANT_Integer = 3;
+    protected static final int CONSTANT_Float = 4;
+    protected static final int CONSTANT_Long = 5;
+    protected static final int CONSTANT_Double = 6;
+    protected static final int CONSTANT_Class = 7;
+    protected static final int CONSTANT_String = 8;
+    protected static final int CONSTANT_Fieldref = 9;
+    protected static final int CONSTANT_Methodref = 10;
+    protected static final int CONSTANT_InterfaceMethodref = 11;
+    protected static final int CONSTANT_NameAndType = 12;
+    protected static final int CONSTANT_MethodHandle = 15;
+    protected static final int CONSTANT_MethodType = 16;
+    protected static final int CONSTANT_Dynamic = 17;
+    protected static final int CONSTANT_InvokeDynamic = 18;
+    protected static final int CONSTANT_Module = 19;
+    protected static final int CONSTANT_Package = 20;
+
+    protected static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    protected static final String RUNTIME_INVISIBLE_ANNOTATIONS = "RuntimeInvisibleAnnotations";
+
+    // ===================================================================================
+    //                                                                               Parse
+    //                                                                               =====
+    /**
+     * Parse the class file.
+     * @param ins The input stream of the class file, not closed here. (NotNull)
+     * @return The meta of the class file. (NotNull)
+     * @throws IOException When it fails to read the stream or it is not class file.
+     */
+    public ClassFileMeta parse(DataInputStream ins) throws IOException {
+        if (ins.readInt() != MAGIC) {
+            throw new IOException("Not class file because of no magic number.");
+        }
+        ins.readUnsignedShort(); // minor version
+        final int majorVersion = ins.readUnsignedShort();
+
+        // ## constant pool ##
+        final int poolCount = ins.readUnsignedShort();
+        final String[] utf8Pool = new String[poolCount];
+        final int[] classNameIndexes = new int[poolCount]; // index of Utf8 if Class entry
+        final List<Integer> descriptorIndexList = new ArrayList<Integer>(); // of NameAndType, MethodType
+        for (int i = 1; i < poolCount; i++) {
+            final int tag = ins.readUnsignedByte();
+            switch (tag) {
+            case CONSTANT_Utf8:
+                utf8Pool[i] = ins.readUTF();
+                break;
+            case CONSTANT_Class:
+                classNameIndexes[i] = ins.readUnsignedShort();
+                break;
+            case CONSTANT_NameAndType:
+                ins.readUnsignedShort(); // name
+                descriptorIndexList.add(ins.readUnsignedShort());
+                break;
+            case CONSTANT_MethodType:
+                descriptorIndexList.add(ins.readUnsignedShort());
+                break;
+            case CONSTANT_String:
+            case CONSTANT_Module:
+            case CONSTANT_Package:
+                ins.readUnsignedShort();
+                break;
+            case CONSTANT_MethodHandle:
+                ins.readUnsignedByte();
+                ins.readUnsignedShort();
+                break;
+            case CONSTANT_Integer:
+            case CONSTANT_Float:
+            case CONSTANT_Fieldref:
+            case CONSTANT_Methodref:
+            case CONSTANT_InterfaceMethodref:
+            case CONSTANT_Dynamic:
+            case CONSTANT_InvokeDynamic:
+                ins.readInt();
+                break;
+            case CONSTANT_Long:
+            case CONSTANT_Double:
+                ins.readLong();
+                ++i; // takes two entries
+                break;
+            default:
+                throw new IOException("Unknown constant pool tag: tag=" + tag + ", index=" + i);
+            }
+        }
+        final Set<String> referencedTypeSet = new LinkedHashSet<String>();
+        for (int i = 1; i < poolCount; i++) {
+            if (classNameIndexes[i] > 0) {
+                addInternalName(referencedTypeSet, utf8Pool[classNameIndexes[i]]);
+            }
+        }
+        for (Integer descriptorIndex : descriptorIndexList) {
+            addDescriptorTypes(referencedTypeSet, utf8Pool[descriptorIndex]);
+        }
+
+        // ## class header ##
+        final int accessFlags = ins.readUnsignedShort();
+        final String className = toClassName(utf8Pool[classNameIndexes[ins.readUnsignedShort()]]);
+        final int superIndex = ins.readUnsignedShort();
+        final String superClassName = superIndex > 0 ? toClassName(utf8Pool[classNameIndexes[superIndex]]) : null; // null if Object
+        final int interfaceCount = ins.readUnsignedShort();
+        final List<String> interfaceNameList = new ArrayList<String>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaceNameList.add(toClassName(utf8Pool[classNameIndexes[ins.readUnsignedShort()]]));
+        }
+
+        // ## fields and methods ##
+        for (int member = 0; member < 2; member++) { // fields then methods
+            final int memberCount = ins.readUnsignedShort();
+            for (int i = 0; i < memberCount; i++) {
+                ins.readUnsignedShort(); // access flags
+                ins.readUnsignedShort(); // name
+                addDescriptorTypes(referencedTypeSet, utf8Pool[ins.readUnsignedShort()]);
+                final int attributeCount = ins.readUnsignedShort();
+                for (int j = 0; j < attributeCount; j++) {
+                    ins.readUnsignedShort(); // name
+                    skipFully(ins, ins.readInt() & 0xFFFFFFFFL);
+                }
+            }
+        }
+
+        // ## class attributes ##
+        final List<String> annotationNameList = new ArrayList<String>();
+        final int attributeCount = ins.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            final String attributeName = utf8Pool[ins.readUnsignedShort()];
+            final long attributeLength = ins.readInt() & 0xFFFFFFFFL;
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName) || RUNTIME_INVISIBLE_ANNOTATIONS.equals(attributeName)) {
+                final int annotationCount = ins.readUnsignedShort();
+                for (int j = 0; j < annotationCount; j++) {
+                    final String annotationName = readAnnotation(ins, utf8Pool);
+                    annotationNameList.add(annotationName);
+                    referencedTypeSet.add(annotationName);
+                }
+            } else {
+                skipFully(ins, attributeLength);
+            }
+        }
+        referencedTypeSet.remove(className); // itself is not reference
+        return new ClassFileMeta(majorVersion, accessFlags, className, superClassName, interfaceNameList, annotationNameList,
+                referencedTypeSet);
+    }
+
+    // -----------------------------------------------------
+    //                                            Annotation
+    //                                            ----------
+    protected String readAnnotation(DataInputStream ins, String[] utf8Pool) throws IOException {
+        final String typeDescriptor = utf8Pool[ins.readUnsignedShort()];
+        final int pairCount = ins.readUnsignedShort();
+        for (int i = 0; i < pairCount; i++) {
+            ins.readUnsignedShort(); // element name
+            skipElementValue(ins, utf8Pool);
+        }
+        return toClassName(typeDescriptor.substring(1, typeDescriptor.length() - 1)); // Lcom/example/Sea; to com.example.Sea
+    }
+
+    protected void skipElementValue(DataInputStream ins, String[] utf8Pool) throws IOException {
+        final int tag = ins.readUnsignedByte();
+        switch (tag) {
+        case 'e': // enum constant
+            ins.readUnsignedShort();
+            ins.readUnsignedShort();
+            break;
+        case '@': // nested annotation
+            readAnnotation(ins, utf8Pool);
+            break;
+        case '[': // array
+            final int valueCount = ins.readUnsignedShort();
+            for (int i = 0; i < valueCount; i++) {
+                skipElementValue(ins, utf8Pool);
+            }
+            break;
+        default: // constant or class
+            ins.readUnsignedShort();
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                           Type Naming
+    //                                           -----------
+    protected void addInternalName(Set<String> typeSet, String internalName) { // e.g. com/example/Sea, [Lcom/example/Sea;
+        if (internalName.startsWith("[")) { // array class
+            addDescriptorTypes(typeSet, internalName);
+        } else {
+            typeSet.add(toClassName(internalName));
+        }
+    }
+
+    protected void addDescriptorTypes(Set<String> typeSet, String descriptor) { // e.g. (Ljava/lang/String;I)V
+        int index = 0;
+        while ((index = descriptor.indexOf('L', index)) >= 0) {
+            final int end = descriptor.indexOf(';', index);
+            if (end < 0) {
+                break;
+            }
+            typeSet.add(toClassName(descriptor.substring(index + 1, end)));
+            index = end + 1;
+        }
+    }
+
+    protected String toClassName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    protected void skipFully(DataInputStream ins, long length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            final long skipped = ins.skip(remaining);
+            if (skipped <= 0) {
+                ins.readByte(); // throws EOF if end
+                --remaining;
+            } else {
+                remaining -= skipped;
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Meta Data
+    //                                                                           =========
+    public static class ClassFileMeta {
+
+        protected final int _majorVersion;
+        protected final int _accessFlags;
+        protected final String _className;
+        protected final String _superClassName; // null allowed: when java.lang.Object
+        protected final List<String> _interfaceNameList;
+        protected final List<String> _annotationNameList;
+        protected final Set<String> _referencedTypeSet;
+
+        public ClassFileMeta(int majorVersion, int accessFlags, String className, String superClassName,
+                List<String> interfaceNameList, List<String> annotationNameList, Set<String> referencedTypeSet) {
+            _majorVersion = majorVersion;
+            _accessFlags = accessFlags;
+            _className = className;
+            _superClassName = superClassName;
+            _interfaceNameList = Collections.unmodifiableList(interfaceNameList);
+            _annotationNameList = Collections.unmodifiableList(annotationNameList);
+            _referencedTypeSet = Collections.unmodifiableSet(referencedTypeSet);
+        }
+
+        public int getMajorVersion() {
+            return _majorVersion;
+        }
+
+        public int getAccessFlags() {
+            return _accessFlags;
+        }
+
+        public String getClassName() {
+            return _className;
+        }
+
+        public String getSuperClassName() {
+            return _superClassName;
+        }
+
+        public List<String> getInterfaceNameList() {
+            return _interfaceNameList;
+        }
+
+        public List<String> getAnnotationNameList() {
+            return _annotationNameList;
+        }
+
+        public Set<String> getReferencedTypeSet() {
+            return _referencedTypeSet;
+        }
+    }
+}
@@ -17,14 +17,27 @@ package org.dbflute.utflute.core.policestory.javaclass;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
-import org.dbflute.helper.filesystem.FileHierarchyTracer;
-import org.dbflute.helper.filesystem.FileHierarchyTracingHandler;
 import org.dbflute.helper.message.ExceptionMessageBuilder;
-import org.dbflute.util.DfReflectionUtil;
-import org.dbflute.util.Srl;
+import org.dbflute.utflute.core.policestory.PoliceStoryFingerprintIndex;
 
 /**
+ * The chase of Java classes under the source directory. <br>
+ * The source files are streamed and their classes are resolved in parallel. <br>
+ * The handler is called in one thread (caller thread) as default,
+ * and it is called concurrently if the handler says parallel handling.
  * @author jflute
  * @since 0.4.0 (2014/03/16 Sunday)
  */
@@ -35,6 +48,7 @@ public class PoliceStoryJavaClassChase {
     //                                                                           =========
     protected final Object _testCase;
     protected final File _javaSrcDir;
+    protected PoliceStoryFingerprintIndex _fingerprintIndex; // null allowed: when all classes
 
     // ===================================================================================
     //                                                                         Constructor
@@ -44,6 +58,19 @@ public class PoliceStoryJavaClassChase {
         _javaSrcDir = javaSrcDir;
     }
 
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    /**
+     * Chase only changed classes by the fingerprint index of source files.
+     * @param fingerprintIndex The index of file fingerprints. (NullAllowed: if null, all classes)
+     * @return this. (NotNull)
+     */
+    public PoliceStoryJavaClassChase changedOnly(PoliceStoryFingerprintIndex fingerprintIndex) {
+        _fingerprintIndex = fingerprintIndex;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                               Chase
     //                                                                               =====
@@ -74,35 +101,154 @@ public class PoliceStoryJavaClassChase {
             String msg = "The source directory does not exist: " + srcDir;
             throw new IllegalStateException(msg);
         }
-        createFileHierarchyTracer().trace(srcDir, new FileHierarchyTracingHandler() {
-            public boolean isTargetFileOrDir(File currentFile) {
-                if (currentFile.isDirectory()) {
-                    return true;
-                }
-                final String fileName = currentFile.getName();
-                if ("package-info.java".equals(fileName)) {
-                    return false; // except it
+        final Path srcPath = srcDir.toPath().toAbsolutePath().normalize(); // only once, not per file
+        final ClassLoader loader = getChaseClassLoader(); // of caller thread
+        final boolean parallelHandling = handler.isParallelHandling();
+        final PoliceStoryFingerprintIndex fingerprintIndex = _fingerprintIndex;
+        final List<Future<Class<?>>> futureList = new ArrayList<Future<Class<?>>>();
+        final List<Path> pathList = new ArrayList<Path>();
+        final ExecutorService service = createChaseExecutorService();
+        boolean completed = false;
+        try {
+            try (Stream<Path> pathStream = walkSourceFile(srcPath)) {
+                pathStream.filter(path -> isTargetSourceFile(path)).filter(path -> {
+                    return fingerprintIndex == null || !fingerprintIndex.isUnchanged(path.toFile()); // skip unchanged and passed
+                }).forEach(path -> {
+                    final Callable<Class<?>> callable = () -> {
+                        if (parallelHandling) {
+                            return verdict(fingerprintIndex, path, () -> {
+                                final Class<?> clazz = analyzeClass(srcPath, path, loader);
+                                handler.handle(path.toFile(), clazz);
+                                return clazz;
+                            });
+                        } else {
+                            return analyzeClass(srcPath, path, loader);
+                        }
+                    };
+                    futureList.add(service.submit(callable)); // streaming, resolved while walking
+                    pathList.add(path);
+                });
+            }
+            for (int i = 0; i < futureList.size(); i++) {
+                if (parallelHandling) {
+                    getChasedClass(futureList, i); // already handled
+                } else { // in caller thread, and as file order
+                    final int index = i;
+                    final Path path = pathList.get(index);
+                    verdict(fingerprintIndex, path, () -> {
+                        final Class<?> clazz = getChasedClass(futureList, index);
+                        handler.handle(path.toFile(), clazz);
+                        return clazz;
+                    });
                 }
-                return fileName.endsWith(".java");
             }
+            completed = true;
+        } finally {
+            service.shutdownNow(); // no task remains here if success
+            if (fingerprintIndex != null) {
+                fingerprintIndex.save(completed);
+            }
+        }
+    }
+
+    protected Class<?> verdict(PoliceStoryFingerprintIndex fingerprintIndex, Path path, Supplier<Class<?>> handling) {
+        if (fingerprintIndex == null) { // all classes
+            return handling.get();
+        }
+        boolean failure = false;
+        try {
+            return handling.get();
+        } catch (RuntimeException | Error e) {
+            failure = true;
+            throw e;
+        } finally {
+            if (failure) {
+                fingerprintIndex.markFailed(path.toFile());
+            } else {
+                fingerprintIndex.markPassed(path.toFile());
+            }
+        }
+    }
+
+    protected Stream<Path> walkSourceFile(Path srcPath) {
+        try {
+            return Files.walk(srcPath, FileVisitOption.FOLLOW_LINKS); // as file hierarchy tracer
+        } catch (IOException e) {
+            String msg = "Failed to walk the source directory: " + srcPath;
+            throw new IllegalStateException(msg, e);
+        }
+    }
 
-            public void handleFile(File currentFile) throws IOException {
-                handler.handle(currentFile, analyzeClass(srcDir, currentFile));
+    protected boolean isTargetSourceFile(Path path) {
+        final String fileName = path.getFileName().toString();
+        if ("package-info.java".equals(fileName)) {
+            return false; // except it
+        }
+        return fileName.endsWith(".java") && Files.isRegularFile(path);
+    }
+
+    protected Class<?> getChasedClass(List<Future<Class<?>>> futureList, int index) {
+        try {
+            return futureList.get(index).get();
+        } catch (InterruptedException e) {
+            String msg = "Failed to wait for the chase by interruption: index=" + index;
+            throw new IllegalStateException(msg, e);
+        } catch (ExecutionException e) {
+            for (int i = index + 1; i < futureList.size(); i++) {
+                futureList.get(i).cancel(true); // no more handling after failure
             }
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) { // e.g. assertion failure
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to chase the class: index=" + index, cause);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                      Executor Service
+    //                                      ----------------
+    protected ExecutorService createChaseExecutorService() {
+        return Executors.newFixedThreadPool(getChaseParallelism(), runnable -> {
+            final Thread thread = new Thread(runnable, "police-story-chase");
+            thread.setDaemon(true); // not to block JVM exit just in case
+            return thread;
         });
     }
 
-    protected FileHierarchyTracer createFileHierarchyTracer() {
-        return new FileHierarchyTracer();
+    protected int getChaseParallelism() { // you can override
+        return Math.max(1, Runtime.getRuntime().availableProcessors());
     }
 
-    protected Class<?> analyzeClass(File srcDir, File currentFile) throws IOException {
-        final String srcCanoPath = Srl.replace(srcDir.getCanonicalPath(), "\\", "/");
-        final String fileCanoPath = Srl.replace(currentFile.getCanonicalPath(), "\\", "/");
-        final String packageFile = Srl.substringFirstRear(fileCanoPath, srcCanoPath);
-        final String packageExp = Srl.trim(Srl.replace(Srl.substringLastFront(packageFile, "/"), "/", "."), ".");
-        final String simpleName = Srl.substringLastFront(currentFile.getName(), ".java");
-        final String className = packageExp + "." + simpleName;
-        return DfReflectionUtil.forName(className);
+    // ===================================================================================
+    //                                                                       Analyze Class
+    //                                                                       =============
+    protected ClassLoader getChaseClassLoader() {
+        return Thread.currentThread().getContextClassLoader();
+    }
+
+    protected Class<?> analyzeClass(Path srcPath, Path currentPath, ClassLoader loader) {
+        final String className = deriveClassName(srcPath.relativize(currentPath));
+        try {
+            // no initialization here because static initializers in parallel might be dead-lock
+            return Class.forName(className, false, loader);
+        } catch (ClassNotFoundException e) {
+            String msg = "The class was not found: class=" + className + " loader=" + loader;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    protected String deriveClassName(Path relativePath) { // e.g. org/docksidestage/Sea.java
+        final StringBuilder sb = new StringBuilder();
+        final int nameCount = relativePath.getNameCount();
+        for (int i = 0; i < nameCount - 1; i++) { // package directories
+            sb.append(relativePath.getName(i).toString()).append(".");
+        }
+        final String fileName = relativePath.getName(nameCount - 1).toString();
+        sb.append(fileName, 0, fileName.length() - ".java".length());
+        return sb.toString();
     }
 }
@@ -35,4 +35,22 @@ public interface PoliceStoryJavaClassHandler {
     default boolean containsTestClass() {
         return false;
     }
+
+    /**
+     * Is the handler thread-safe so it can be called concurrently? <br>
+     * The classes are resolved in parallel anyway, but handle() is called in one thread as default.
+     * @return true if the handle() is called in parallel threads, false if called in one thread as file order.
+     */
+    default boolean isParallelHandling() {
+        return false;
+    }
+
+    /**
+     * Does it handle only changed classes since the last chase? <br>
+     * The unchanged source files passed at the last chase are skipped by the fingerprint index under target/.
+     * @return true if changed-only mode.
+     */
+    default boolean isChangedOnly() {
+        return false;
+    }
 }
@@ -17,6 +17,7 @@ package org.dbflute.utflute.core.policestory.jspfile;
 
 import java.io.File;
 
+import org.dbflute.utflute.core.policestory.PoliceStoryFingerprintIndex;
 import org.dbflute.utflute.core.policestory.miscfile.PoliceStoryMiscFileChase;
 import org.dbflute.utflute.core.policestory.miscfile.PoliceStoryMiscFileHandler;
 
@@ -31,6 +32,7 @@ public class PoliceStoryJspFileChase {
     //                                                                           =========
     protected final Object _testCase;
     protected final File _jspDir;
+    protected PoliceStoryFingerprintIndex _fingerprintIndex; // null allowed: when all files
 
     // ===================================================================================
     //                                                                         Constructor
@@ -40,6 +42,14 @@ public class PoliceStoryJspFileChase {
         _jspDir = jspDir;
     }
 
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    public PoliceStoryJspFileChase changedOnly(PoliceStoryFingerprintIndex fingerprintIndex) { // null allowed
+        _fingerprintIndex = fingerprintIndex;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                               Chase
     //                                                                               =====
@@ -48,7 +58,7 @@ public class PoliceStoryJspFileChase {
             protected String getChaseFileExt() {
                 return "jsp";
             }
-        }.chaseMiscFile(new PoliceStoryMiscFileHandler() {
+        }.changedOnly(_fingerprintIndex).chaseMiscFile(new PoliceStoryMiscFileHandler() {
             public void handle(File textFile) {
                 handler.handle(textFile);
             }
@@ -27,4 +27,12 @@ public interface PoliceStoryJspFileHandler {
      * @param jspFile The file object for the JSP. (NotNull)
      */
     void handle(File jspFile);
+
+    /**
+     * Does it handle only changed JSP files since the last chase? (skipping unchanged and passed ones)
+     * @return true if changed-only mode.
+     */
+    default boolean isChangedOnly() {
+        return false;
+    }
 }
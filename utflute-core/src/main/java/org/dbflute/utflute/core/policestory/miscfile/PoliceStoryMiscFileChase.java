@@ -21,6 +21,7 @@ import java.io.IOException;
 import org.dbflute.helper.filesystem.FileHierarchyTracer;
 import org.dbflute.helper.filesystem.FileHierarchyTracingHandler;
 import org.dbflute.helper.message.ExceptionMessageBuilder;
+import org.dbflute.utflute.core.policestory.PoliceStoryFingerprintIndex;
 
 /**
  * @author jflute
@@ -33,6 +34,7 @@ public class PoliceStoryMiscFileChase {
     //                                                                           =========
     protected final Object _testCase;
     protected final File _baseDir;
+    protected PoliceStoryFingerprintIndex _fingerprintIndex; // null allowed: when all files
 
     // ===================================================================================
     //                                                                         Constructor
@@ -42,6 +44,19 @@ public class PoliceStoryMiscFileChase {
         _baseDir = baseDir;
     }
 
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    /**
+     * Chase only changed files by the fingerprint index.
+     * @param fingerprintIndex The index of file fingerprints. (NullAllowed: if null, all files)
+     * @return this. (NotNull)
+     */
+    public PoliceStoryMiscFileChase changedOnly(PoliceStoryFingerprintIndex fingerprintIndex) {
+        _fingerprintIndex = fingerprintIndex;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                               Chase
     //                                                                               =====
@@ -73,6 +88,20 @@ public class PoliceStoryMiscFileChase {
             throw new IllegalStateException(msg);
         }
         final String chaseFileExt = getChaseFileExt();
+        final PoliceStoryFingerprintIndex fingerprintIndex = _fingerprintIndex;
+        boolean completed = false;
+        try {
+            doTrace(baseDir, handler, chaseFileExt, fingerprintIndex);
+            completed = true;
+        } finally {
+            if (fingerprintIndex != null) {
+                fingerprintIndex.save(completed);
+            }
+        }
+    }
+
+    protected void doTrace(File baseDir, PoliceStoryMiscFileHandler handler, String chaseFileExt,
+            PoliceStoryFingerprintIndex fingerprintIndex) { // index is null allowed
         createFileHierarchyTracer().trace(baseDir, new FileHierarchyTracingHandler() {
             public boolean isTargetFileOrDir(File currentFile) {
                 if (currentFile.isDirectory()) {
@@ -85,7 +114,26 @@ public class PoliceStoryMiscFileChase {
             }
 
             public void handleFile(File currentFile) throws IOException {
-                handler.handle(currentFile);
+                if (fingerprintIndex == null) {
+                    handler.handle(currentFile);
+                    return;
+                }
+                if (fingerprintIndex.isUnchanged(currentFile)) {
+                    return; // skip unchanged and passed file
+                }
+                boolean failure = false;
+                try {
+                    handler.handle(currentFile);
+                } catch (RuntimeException | Error e) {
+                    failure = true;
+                    throw e;
+                } finally {
+                    if (failure) {
+                        fingerprintIndex.markFailed(currentFile);
+                    } else {
+                        fingerprintIndex.markPassed(currentFile);
+                    }
+                }
             }
         });
     }
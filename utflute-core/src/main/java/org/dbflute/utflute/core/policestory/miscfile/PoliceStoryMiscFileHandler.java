@@ -27,4 +27,12 @@ public interface PoliceStoryMiscFileHandler {
      * @param miscFile The file object for the miscellaneous file. (NotNull)
      */
     void handle(File miscFile);
+
+    /**
+     * Does it handle only changed files since the last chase? (skipping unchanged and passed ones)
+     * @return true if changed-only mode.
+     */
+    default boolean isChangedOnly() {
+        return false;
+    }
 }
@@ -27,4 +27,12 @@ public interface PoliceStoryProjectResourceHandler {
      * @param resourceFile The file object for the project. (NotNull)
      */
     void handle(File resourceFile);
+
+    /**
+     * Does it handle only changed resources since the last chase? (skipping unchanged and passed ones)
+     * @return true if changed-only mode.
+     */
+    default boolean isChangedOnly() {
+        return false;
+    }
 }
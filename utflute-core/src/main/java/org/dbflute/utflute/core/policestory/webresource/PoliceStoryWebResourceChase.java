@@ -17,6 +17,7 @@ package org.dbflute.utflute.core.policestory.webresource;
 
 import java.io.File;
 
+import org.dbflute.utflute.core.policestory.PoliceStoryFingerprintIndex;
 import org.dbflute.utflute.core.policestory.miscfile.PoliceStoryMiscFileChase;
 import org.dbflute.utflute.core.policestory.miscfile.PoliceStoryMiscFileHandler;
 
@@ -31,6 +32,7 @@ public class PoliceStoryWebResourceChase {
     //                                                                           =========
     protected final Object _testCase;
     protected final File _webappDir;
+    protected PoliceStoryFingerprintIndex _fingerprintIndex; // null allowed: when all files
 
     // ===================================================================================
     //                                                                         Constructor
@@ -40,6 +42,14 @@ public class PoliceStoryWebResourceChase {
         _webappDir = webappDir;
     }
 
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    public PoliceStoryWebResourceChase changedOnly(PoliceStoryFingerprintIndex fingerprintIndex) { // null allowed
+        _fingerprintIndex = fingerprintIndex;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                               Chase
     //                                                                               =====
@@ -48,7 +58,7 @@ public class PoliceStoryWebResourceChase {
             protected String getChaseFileExt() {
                 return null; // means all
             }
-        }.chaseMiscFile(new PoliceStoryMiscFileHandler() {
+        }.changedOnly(_fingerprintIndex).chaseMiscFile(new PoliceStoryMiscFileHandler() {
             public void handle(File textFile) {
                 handler.handle(textFile);
             }
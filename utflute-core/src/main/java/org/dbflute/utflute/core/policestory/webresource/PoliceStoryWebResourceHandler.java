@@ -27,4 +27,12 @@ public interface PoliceStoryWebResourceHandler {
      * @param resourceFile The file object for the WEB resource. (NotNull)
      */
     void handle(File resourceFile);
+
+    /**
+     * Does it handle only changed web resources since the last chase? (skipping unchanged and passed ones)
+     * @return true if changed-only mode.
+     */
+    default boolean isChangedOnly() {
+        return false;
+    }
 }
@@ -15,19 +15,31 @@
  */
 package org.dbflute.utflute.core;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.dbflute.exception.IllegalConditionBeanOperationException;
 import org.dbflute.helper.message.ExceptionMessageBuilder;
+import org.dbflute.utflute.core.cannonball.CannonballArrivalPacer;
 import org.dbflute.utflute.core.cannonball.CannonballCar;
+import org.dbflute.utflute.core.cannonball.CannonballDirector;
 import org.dbflute.utflute.core.cannonball.CannonballDragon;
+import org.dbflute.utflute.core.cannonball.CannonballHistogram;
+import org.dbflute.utflute.core.cannonball.CannonballLatch;
+import org.dbflute.utflute.core.cannonball.CannonballLogger;
 import org.dbflute.utflute.core.cannonball.CannonballOption;
 import org.dbflute.utflute.core.cannonball.CannonballProjectA;
+import org.dbflute.utflute.core.cannonball.CannonballReport;
 import org.dbflute.utflute.core.cannonball.CannonballRetireException;
 import org.dbflute.utflute.core.cannonball.CannonballRun;
 
@@ -81,6 +93,205 @@ public class CannonballTest extends PlainTestCase {
         }
     }
 
+    public void test_cannonball_repeatCount() throws Exception {
+        final List<Integer> callNoList = Collections.synchronizedList(new ArrayList<Integer>());
+        final Set<Long> threadIdSet = Collections.synchronizedSet(new HashSet<Long>());
+        cannonball(new CannonballRun() {
+            public void drive(CannonballCar car) {
+                callNoList.add(car.getEntryNumber());
+                threadIdSet.add(car.getThreadId());
+                car.restart();
+            }
+        }, new CannonballOption().threadCount(3).repeatCount(5));
+        assertEquals(15, callNoList.size());
+        assertEquals(3, threadIdSet.size()); // reused across repeats
+    }
+
+    public void test_cannonball_repeatCount_carDiedBeforeGate() throws Exception {
+        // ## Arrange ##
+        final AtomicInteger fireCount = new AtomicInteger();
+        final AtomicInteger driveCount = new AtomicInteger();
+        CannonballDirector director = new CannonballDirector(xcreateCannonballStaff()) {
+            @Override
+            protected Callable<Object> createCallable(CannonballRun run, CannonballOption option, CyclicBarrier startGate,
+                    CannonballLatch ourLatch, int entryNumber, Object lockObj, CannonballLogger logger, CannonballReport report,
+                    CannonballArrivalPacer pacer, ScheduledExecutorService watchingScheduler) {
+                if (entryNumber == 1 && fireCount.incrementAndGet() == 1) { // only first fire
+                    return () -> {
+                        throw new IllegalStateException("died before the gate");
+                    };
+                }
+                return super.createCallable(run, option, startGate, ourLatch, entryNumber, lockObj, logger, report, pacer,
+                        watchingScheduler);
+            }
+
+            @Override
+            protected long getStartGateTimeoutMillis() {
+                return 500L;
+            }
+        };
+
+        // ## Act ##
+        try {
+            director.readyGo(car -> driveCount.incrementAndGet(), new CannonballOption().threadCount(3).repeatCount(2));
+            // ## Assert ##
+            fail();
+        } catch (CannonballRetireException e) {
+            log(e.getMessage());
+        }
+        assertEquals(3, driveCount.get()); // no hang at first fire, and second fire is not broken
+    }
+
+    public void test_cannonball_repeatCount_carFailedAtCreation() throws Exception {
+        // ## Arrange ##
+        final AtomicInteger createCount = new AtomicInteger();
+        final AtomicInteger driveCount = new AtomicInteger();
+        CannonballDirector director = new CannonballDirector(xcreateCannonballStaff()) {
+            @Override
+            protected CannonballCar createCar(long threadId, CannonballLatch ourLatch, int entryNumber, Object lockObj,
+                    CannonballOption option, CannonballLogger logger, CannonballReport report,
+                    ScheduledExecutorService watchingScheduler) {
+                if (createCount.incrementAndGet() == 1) {
+                    throw new IllegalStateException("failed to create the car");
+                }
+                return super.createCar(threadId, ourLatch, entryNumber, lockObj, option, logger, report, watchingScheduler);
+            }
+        };
+
+        // ## Act ##
+        try {
+            director.readyGo(car -> driveCount.incrementAndGet(), new CannonballOption().threadCount(3).repeatCount(2));
+            // ## Assert ##
+            fail();
+        } catch (CannonballRetireException e) {
+            log(e.getMessage());
+        }
+        assertEquals(5, driveCount.get()); // only the failed car did not drive
+    }
+
+    public void test_cannonball_virtualThreads() throws Exception {
+        final Set<Integer> callNoList = Collections.synchronizedSet(new HashSet<Integer>());
+        cannonball(new CannonballRun() {
+            public void drive(CannonballCar car) {
+                callNoList.add(car.getEntryNumber());
+                car.restart();
+                assertEquals(100, callNoList.size());
+            }
+        }, new CannonballOption().threadCount(100).virtualThreads());
+        assertEquals(100, callNoList.size());
+    }
+
+    public void test_cannonball_virtualThreads_isVirtual() throws Exception {
+        final Method isVirtualMethod;
+        try {
+            isVirtualMethod = Thread.class.getMethod("isVirtual");
+        } catch (NoSuchMethodException e) { // e.g. Java8
+            log("*Skipped the test because virtual threads are unsupported in the JVM");
+            return;
+        }
+        final Set<Object> virtualSet = Collections.synchronizedSet(new HashSet<Object>());
+        cannonball(new CannonballRun() {
+            public void drive(CannonballCar car) {
+                try {
+                    virtualSet.add(isVirtualMethod.invoke(Thread.currentThread()));
+                } catch (Exception e) {
+                    throw new IllegalStateException("Failed to call isVirtual()", e);
+                }
+            }
+        }, new CannonballOption().threadCount(10).virtualThreads());
+        assertEquals(Collections.singleton(Boolean.TRUE), virtualSet); // all cars on virtual threads
+    }
+
+    // ===================================================================================
+    //                                                                              Report
+    //                                                                              ======
+    public void test_cannonball_report() throws Exception {
+        CannonballReport report = cannonball(new CannonballRun() {
+            public void drive(CannonballCar car) {
+                car.restart();
+                car.teaBreak(car.getEntryNumber() * 10);
+            }
+        }, new CannonballOption().threadCount(5).repeatCount(2));
+        log(report);
+        assertEquals(2, report.getFireNanosList().size());
+        assertEquals(10L, report.getDriveHistogram().getTotalCount());
+        assertEquals(10L, report.getStartSkewHistogram().getTotalCount());
+        assertEquals(10L, report.getRestartHistogram().getTotalCount());
+        assertEquals(0L, report.getProjectAHistogram().getTotalCount());
+        long p50 = report.getDriveHistogram().getPercentileNanos(50.0);
+        long max = report.getDriveHistogram().getMaxNanos();
+        assertTrue(p50 >= 30000000L); // entry number 3 (30ms) or more
+        assertTrue(max >= 50000000L); // entry number 5
+        assertTrue(p50 <= max);
+        assertTrue(report.getOpsPerSecond() > 0);
+    }
+
+    public void test_cannonball_report_histogram() throws Exception {
+        CannonballHistogram histogram = new CannonballHistogram("sea");
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000000L); // 1ms to 1000ms
+        }
+        log(histogram);
+        assertEquals(1000L, histogram.getTotalCount());
+        assertEquals(1000000000L, histogram.getMaxNanos());
+        long p50 = histogram.getPercentileNanos(50.0);
+        long p99 = histogram.getPercentileNanos(99.0);
+        assertTrue(p50 >= 500000000L && p50 < 500000000L * 65 / 64); // relative error
+        assertTrue(p99 >= 990000000L && p99 < 990000000L * 65 / 64);
+        assertEquals(histogram.getMaxNanos(), histogram.getPercentileNanos(100.0));
+    }
+
+    public void test_cannonball_report_histogram_locale() throws Exception {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY); // comma as decimal point
+        try {
+            CannonballHistogram histogram = new CannonballHistogram("sea");
+            histogram.record(1500000L);
+            log(histogram);
+            assertContains(histogram.toString(), "max=1.500ms");
+            CannonballReport report = new CannonballReport(1);
+            log(report);
+            assertNotContains(report.toString(), "opsPerSec=0,0");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Steady Load
+    //                                                                       ===========
+    public void test_cannonball_duration() throws Exception {
+        final List<Integer> callNoList = Collections.synchronizedList(new ArrayList<Integer>());
+        CannonballReport report = cannonball(new CannonballRun() {
+            public void drive(CannonballCar car) {
+                callNoList.add(car.getEntryNumber());
+                car.teaBreak(10);
+            }
+        }, new CannonballOption().threadCount(3).duration(300));
+        log(report);
+        assertTrue(callNoList.size() > 3); // repeated
+        assertEquals(callNoList.size(), (int) report.getDriveHistogram().getTotalCount());
+        assertEquals(0L, report.getResponseHistogram().getTotalCount()); // closed-loop
+    }
+
+    public void test_cannonball_arrivalRate() throws Exception {
+        final List<Integer> callNoList = Collections.synchronizedList(new ArrayList<Integer>());
+        CannonballReport report = cannonball(new CannonballRun() {
+            public void drive(CannonballCar car) {
+                callNoList.add(car.getEntryNumber());
+            }
+        }, new CannonballOption().threadCount(5).duration(500).arrivalRate(100));
+        log(report);
+        assertEquals(50, callNoList.size()); // arrivals in 500ms at 100 ops/sec
+        assertEquals(50L, report.getResponseHistogram().getTotalCount());
+    }
+
+    public void test_cannonball_arrivalRate_noDuration() throws Exception {
+        assertException(IllegalStateException.class, () -> {
+            cannonball(car -> {}, new CannonballOption().arrivalRate(100));
+        });
+    }
+
     // ===================================================================================
     //                                                                             Restart
     //                                                                             =======
@@ -100,6 +311,17 @@ public class CannonballTest extends PlainTestCase {
         assertEquals(10, afterNoSet.size());
     }
 
+    public void test_cannonball_restart_manyCars() throws Exception {
+        final List<Integer> restartedList = Collections.synchronizedList(new ArrayList<Integer>());
+        cannonball(car -> {
+            for (int i = 0; i < 5; i++) {
+                car.restart();
+                restartedList.add(car.getEntryNumber());
+            }
+        }, new CannonballOption().threadCount(200));
+        assertEquals(200 * 5, restartedList.size());
+    }
+
     // ===================================================================================
     //                                                                           Project A
     //                                                                           =========
@@ -126,6 +348,20 @@ public class CannonballTest extends PlainTestCase {
         assertEquals(Arrays.asList(1, 2), callNoList);
     }
 
+    public void test_cannonball_projectA_manyPlans() throws Exception {
+        final List<Integer> callNoList = Collections.synchronizedList(new ArrayList<Integer>());
+        final long beginTime = System.currentTimeMillis();
+        cannonball(car -> {
+            for (int i = 0; i < 20; i++) {
+                car.projectA(dragon -> callNoList.add(car.getEntryNumber()), 1);
+            }
+        }, new CannonballOption().threadCount(5));
+        final long costMillis = System.currentTimeMillis() - beginTime;
+        log("costMillis: " + costMillis);
+        assertEquals(20, callNoList.size());
+        assertTrue(costMillis < 2000); // no fixed tea break per plan
+    }
+
     public void test_cannonball_projectA_normallyDone_expected() throws Exception {
         final List<Integer> callNoList = Collections.synchronizedList(new ArrayList<Integer>());
         cannonball(new CannonballRun() {
@@ -234,6 +470,29 @@ public class CannonballTest extends PlainTestCase {
         assertEquals(Arrays.asList(1), callNoList);
     }
 
+    public void test_cannonball_projectA_overtime_reset() throws Exception {
+        final List<Long> waitingMillisList = Collections.synchronizedList(new ArrayList<Long>());
+        cannonball(new CannonballRun() {
+            public void drive(final CannonballCar car) {
+                final long beginTime = System.currentTimeMillis();
+                car.projectA(new CannonballProjectA() {
+                    public void plan(CannonballDragon dragon) {
+                        dragon.expectOvertime();
+                        dragon.releaseIfOvertime(5000); // old watcher is cancelled
+                        dragon.releaseIfOvertime(300);
+                        sleep(2000);
+                    }
+                }, 1);
+                if (car.isEntryNumber(2)) {
+                    waitingMillisList.add(System.currentTimeMillis() - beginTime);
+                }
+            }
+        }, new CannonballOption().threadCount(2));
+        log(waitingMillisList);
+        assertEquals(1, waitingMillisList.size());
+        assertTrue(waitingMillisList.get(0) < 1500); // released by the last watcher
+    }
+
     public void test_cannonball_projectA_overtime_expectedBut() throws Exception {
         final Set<Integer> beforeNoSet = Collections.synchronizedSet(new HashSet<Integer>());
         final List<Integer> callNoList = Collections.synchronizedList(new ArrayList<Integer>());
@@ -374,6 +633,29 @@ public class CannonballTest extends PlainTestCase {
         }, new CannonballOption().threadCount(3).expectExceptionAny("plan"));
     }
 
+    // ===================================================================================
+    //                                                                        Thread Count
+    //                                                                        ============
+    public void test_cannonball_threadCount_overLimit() throws Exception {
+        new CannonballOption().threadCount(CannonballOption.MAX_THREAD_COUNT); // no exception
+        try {
+            new CannonballOption().threadCount(CannonballOption.MAX_THREAD_COUNT + 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "65535 or less");
+        }
+        CannonballOption option = new CannonballOption();
+        option.setThreadCount(CannonballOption.MAX_THREAD_COUNT + 1); // plain setter
+        try {
+            cannonball(car -> fail("not run"), option);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "65535 or less");
+        }
+    }
+
     // ===================================================================================
     //                                                                        Entry Number
     //                                                                        ============
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.Resource;
+
+import org.dbflute.utflute.core.binding.BindingAnnotationRule;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class InjectionTestCaseTest extends InjectionTestCase {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final String CONFIG_IDENTITY = "injection-test-case.xml";
+    private static final List<String> _bootedList = new CopyOnWriteArrayList<String>();
+
+    static {
+        warmUpContainer(CONFIG_IDENTITY, () -> bootContainer(CONFIG_IDENTITY), container -> {});
+    }
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    private static Map<Object, Object> _xcachedContainer;
+
+    @Resource
+    protected SeaLogic seaLogic;
+
+    // ===================================================================================
+    //                                                                            Settings
+    //                                                                            ========
+    @Override
+    protected boolean isUseContainerPool() {
+        return true;
+    }
+
+    @Override
+    protected String xprovideContainerConfigIdentity() {
+        return CONFIG_IDENTITY;
+    }
+
+    @Override
+    protected boolean isSuppressTestCaseTransaction() {
+        return true;
+    }
+
+    // ===================================================================================
+    //                                                                             Warm-up
+    //                                                                             =======
+    public void test_warmUpContainer_reusedByPool() {
+        log(_bootedList);
+        assertEquals(Arrays.asList(CONFIG_IDENTITY), _bootedList); // booted only by warm-up
+        assertSame(_xcachedContainer.get(SeaLogic.class), seaLogic);
+        assertSame(_xcachedContainer, xprovideResolvedComponentContainer());
+    }
+
+    // ===================================================================================
+    //                                                                           Container
+    //                                                                           =========
+    protected static Map<Object, Object> bootContainer(String configIdentity) {
+        _bootedList.add(configIdentity);
+        Map<Object, Object> container = new ConcurrentHashMap<Object, Object>();
+        container.put(SeaLogic.class, new SeaLogic());
+        return container;
+    }
+
+    @Override
+    protected void xprepareTestCaseContainer() {
+        _xcachedContainer = xprepareContainerByPool(() -> bootContainer(xprovideContainerConfigIdentity()), container -> {});
+    }
+
+    @Override
+    protected void xclearCachedContainer() {
+        _xcachedContainer = null;
+    }
+
+    @Override
+    protected void xdestroyContainer() {
+    }
+
+    @Override
+    protected Map<Class<? extends Annotation>, BindingAnnotationRule> xprovideBindingAnnotationRuleMap() {
+        Map<Class<? extends Annotation>, BindingAnnotationRule> ruleMap = newHashMap();
+        ruleMap.put(Resource.class, new BindingAnnotationRule());
+        return ruleMap;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <COMPONENT> COMPONENT getComponent(Class<COMPONENT> type) {
+        return (COMPONENT) _xcachedContainer.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <COMPONENT> COMPONENT getComponent(String name) {
+        return (COMPONENT) _xcachedContainer.get(name);
+    }
+
+    @Override
+    protected boolean hasComponent(Class<?> type) {
+        return _xcachedContainer.containsKey(type);
+    }
+
+    @Override
+    protected boolean hasComponent(String name) {
+        return _xcachedContainer.containsKey(name);
+    }
+
+    // ===================================================================================
+    //                                                                           Test Bean
+    //                                                                           =========
+    public static class SeaLogic {
+    }
+}
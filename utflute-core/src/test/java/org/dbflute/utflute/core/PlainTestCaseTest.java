@@ -15,7 +15,21 @@
  */
 package org.dbflute.utflute.core;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.dbflute.system.DBFluteSystem;
+import org.dbflute.utflute.core.logging.AsyncLogSink;
+import org.dbflute.utflute.core.logging.ShowSampler;
 
 import junit.framework.AssertionFailedError;
 
@@ -40,6 +54,16 @@ public class PlainTestCaseTest extends PlainTestCase {
         }
     }
 
+    @Override
+    protected boolean isUseAsyncLogging() {
+        return getName().startsWith("test_log_async");
+    }
+
+    @Override
+    protected boolean isUseThreadConfinedCurrentDate() {
+        return getName().endsWith("_threadConfined");
+    }
+
     // ===================================================================================
     //                                                                       Assert Helper
     //                                                                       =============
@@ -82,6 +106,84 @@ public class PlainTestCaseTest extends PlainTestCase {
         }
     }
 
+    public void test_assertContainsAll_multipleMissing() throws Exception {
+        String str = "Over the Sea, the land of dreams, and hangar";
+        assertContainsAll(str, "Sea", "land", "dream", "hang", "angar", "", "the land", "and");
+        assertContainsAllIgnoreCase(str, "SEA", "over", "Dreams", "HANGAR", "A, T");
+        assertContainsAny(str, "mystic", "gar");
+        assertContainsAnyIgnoreCase(str, "mystic", "OVER");
+        try {
+            assertContainsAll(str, "sea", "mystic", "land", "Land", "piari");
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "[sea, mystic, Land, piari]");
+        }
+        try {
+            assertContainsAnyIgnoreCase(str, "mystic", "piari");
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+        }
+        assertContainsKeywordAllIgnoreCase(newArrayList("foo", "bar", "qux"), "FO", "aR", "ux");
+        try {
+            assertContainsKeywordAll(newArrayList("foo", "bar", "qux"), "ar", "no", "oob", "qux");
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "[no, oob]"); // not across elements
+        }
+    }
+
+    public void test_assertContainsAll_noKeyword() throws Exception {
+        try {
+            assertContainsAll("foo");
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+        }
+        try {
+            assertContainsAllIgnoreCase("foo");
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+        }
+        try {
+            assertContainsKeywordAll(newArrayList("foo", "bar"));
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+        }
+        try {
+            assertContainsKeywordAny(newArrayList("foo", "bar"));
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+        }
+    }
+
+    public void test_assertContainsKeyword_nullElement() throws Exception {
+        List<String> strList = newArrayList("foo", null, "bar");
+        assertContainsKeyword(strList, "ar");
+        assertContainsKeywordAll(strList, "fo", "ar");
+        assertContainsKeywordAllIgnoreCase(strList, "FO", "AR");
+        assertContainsKeywordAny(strList, "no", "ar");
+        assertContainsKeywordAll(Stream.of("foo", null, "bar"), "fo", "ar");
+        try {
+            assertContainsKeywordAll(strList, "fo", "null");
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "[null]"); // null element matches nothing
+        }
+        try {
+            assertContainsKeywordAny(newArrayList((String) null), "null");
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+        }
+    }
+
     public void test_assertContainsKeyword() throws Exception {
         assertContainsKeyword(newArrayList("foo", "bar", "qux"), "ar");
         try {
@@ -107,6 +209,83 @@ public class PlainTestCaseTest extends PlainTestCase {
         }
     }
 
+    // -----------------------------------------------------
+    //                                                Stream
+    //                                                ------
+    public void test_assertHas_stream() throws Exception {
+        AtomicInteger readCount = new AtomicInteger();
+        Stream<Integer> hugeStream = Stream.iterate(1, i -> i + 1).peek(i -> readCount.incrementAndGet()).limit(1000000);
+        try {
+            assertHasOnlyOneElement(hugeStream);
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "the stream should have the only one element but: [1, 2] (not read further)");
+        }
+        assertEquals(2, readCount.get()); // short-circuit
+        assertHasAnyElement(Stream.of("foo"));
+        assertHasOnlyOneElement(newArrayList("foo").iterator());
+        assertHasPluralElement(newArrayList("foo", "bar").spliterator());
+        assertHasZeroElement(Stream.empty());
+        try {
+            assertHasZeroElement(Stream.of("foo", "bar"));
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "[foo] (not read further)");
+        }
+        try {
+            assertHasPluralElement(newArrayList("foo").iterator());
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "the iterator should have plural elements but: [foo]");
+            assertNotContains(e.getMessage(), "not read further");
+        }
+        try {
+            assertHasAnyElement(new ArrayList<String>().spliterator());
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "the spliterator should have any element");
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        assertHasAnyElement(Stream.of("foo").onClose(() -> closed.set(true)));
+        assertTrue(closed.get());
+    }
+
+    public void test_assertContainsKeyword_stream() throws Exception {
+        AtomicInteger readCount = new AtomicInteger();
+        Stream<String> hugeStream = Stream.iterate(1, i -> i + 1).map(i -> "sea" + i).peek(str -> readCount.incrementAndGet());
+        assertContainsKeywordAll(hugeStream.limit(1000000), "sea3", "sea12");
+        assertEquals(12, readCount.get()); // stops when all found
+        assertContainsKeyword(Stream.of("foo", "bar"), "ar");
+        assertContainsKeywordAllIgnoreCase(newArrayList("foo", "bar").iterator(), "FO", "Ar");
+        assertContainsKeywordAny(newArrayList("foo", "bar").spliterator(), "no", "oo");
+        assertContainsKeywordAnyIgnoreCase(Stream.of("foo", "bar"), "no", "BA");
+        try {
+            assertContainsKeywordAll(Stream.of("foo", "bar"), "fo", "no", "qux");
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "[no, qux]");
+        }
+        try {
+            assertContainsKeyword(newArrayList("foo", "bar").iterator(), "qux");
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "the iterator should have the keyword");
+        }
+        try {
+            assertContainsKeywordAny(newArrayList("foo", "bar").spliterator(), "qux");
+            fail();
+        } catch (AssertionFailedError e) {
+            log(e.getMessage());
+            assertContains(e.getMessage(), "the spliterator should have any keyword");
+        }
+    }
+
     // -----------------------------------------------------
     //                                                  Has
     //                                                 -----
@@ -262,6 +441,45 @@ public class PlainTestCaseTest extends PlainTestCase {
         log("sea: {}", "\\$"); // expects no exception, sea: \$
     }
 
+    public void test_log_async() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            log("async: {}", i);
+        }
+        xflushAsyncLog();
+        AsyncLogSink sink = xgetAsyncLogSink();
+        assertTrue(sink.getWrittenCount() >= 1002); // with reserved title
+        assertEquals(sink.getEnqueuedCount(), sink.getWrittenCount());
+    }
+
+    public void test_showStream_sampling() throws Exception {
+        List<String> lineList = new ArrayList<String>();
+        ShowSampler sampler = new ShowSampler(line -> lineList.add(line), 2, 3);
+        IntStream.range(0, 10).forEach(i -> sampler.add("sea" + i));
+        sampler.finish();
+        log(lineList);
+        List<String> expectedList = Arrays.asList("  sea0", "  sea1", "  ... (5 elided)", "  sea7", "  sea8", "  sea9", "  (size=10, elided=5)");
+        assertEquals(expectedList, lineList);
+
+        lineList.clear();
+        ShowSampler small = new ShowSampler(line -> lineList.add(line), 2, 3);
+        small.add("land");
+        small.add(null);
+        small.add("piari");
+        small.finish();
+        assertEquals(Arrays.asList("  land", "  null", "  piari", "  (size=3, elided=0)"), lineList);
+
+        showStream(IntStream.range(0, 1000).mapToObj(i -> "dockside" + i)); // check your eyes
+    }
+
+    public void test_log_placeholder_message() throws Exception {
+        assertEquals("sea: mystic, land: {}", xbuildLogMessage(new Object[] { "sea: {}, land: {}", "mystic" }, 2));
+        Object[] overMsgs = new Object[] { "sea: {}, land: {}", "mystic", "oneman", "plaza" };
+        assertEquals("sea: mystic, land: oneman, plaza", xbuildLogMessage(overMsgs, 4));
+        assertEquals("sea: {mys{}tic}", xbuildLogMessage(new Object[] { "sea: {{}}", "mys{}tic" }, 2));
+        assertEquals("sea: \\$, null", xbuildLogMessage(new Object[] { "sea: {}", "\\$", null }, 3));
+        assertEquals("sea: null", xbuildLogMessage(new Object[] { "sea: {}", null }, 2));
+    }
+
     // ===================================================================================
     //                                                                         Cannon-ball
     //                                                                         ===========
@@ -274,4 +492,35 @@ public class PlainTestCaseTest extends PlainTestCase {
         switchCurrentDate(() -> LocalDateTime.of(2016, 10, 27, 3, 0));
         log(currentLocalDate(), currentLocalDateTime(), currentUtilDate(), currentTimestamp());
     }
+
+    public void test_switchCurrentDate_existingThread() throws Exception {
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        try {
+            service.submit(() -> {}).get(); // thread is created before switching
+            switchCurrentDate(() -> LocalDateTime.of(2016, 10, 27, 3, 0));
+            assertEquals(LocalDate.of(2016, 10, 27), currentLocalDate());
+            LocalDate otherDate = service.submit(() -> currentLocalDate()).get();
+            assertEquals(LocalDate.of(2016, 10, 27), otherDate); // JVM-wide as default
+        } finally {
+            service.shutdown();
+        }
+        xclearSwitchedCurrentDate();
+        assertFalse(DBFluteSystem.hasCurrentDateProvider());
+    }
+
+    public void test_switchCurrentDate_threadConfined() throws Exception {
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        try {
+            service.submit(() -> {}).get(); // thread is created before switching
+            switchCurrentDate(() -> LocalDateTime.of(2016, 10, 27, 3, 0));
+            assertEquals(LocalDate.of(2016, 10, 27), currentLocalDate());
+            LocalDate otherDate = service.submit(() -> currentLocalDate()).get();
+            log(otherDate);
+            assertFalse(LocalDate.of(2016, 10, 27).equals(otherDate));
+        } finally {
+            service.shutdown();
+        }
+        xclearSwitchedCurrentDate();
+        assertFalse(DBFluteSystem.hasCurrentDateProvider());
+    }
 }
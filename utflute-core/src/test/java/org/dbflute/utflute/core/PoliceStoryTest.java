@@ -16,10 +16,26 @@
 package org.dbflute.utflute.core;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.dbflute.utflute.core.cannonball.CannonballDirector;
+import org.dbflute.utflute.core.cannonball.CannonballStaff;
 import org.dbflute.utflute.core.filesystem.FileLineHandler;
+import org.dbflute.utflute.core.policestory.PoliceStory;
+import org.dbflute.utflute.core.policestory.classfile.PoliceStoryClassDescriptor;
+import org.dbflute.utflute.core.policestory.classfile.PoliceStoryClassFileHandler;
 import org.dbflute.utflute.core.policestory.javaclass.PoliceStoryJavaClassHandler;
 import org.dbflute.utflute.core.policestory.jspfile.PoliceStoryJspFileHandler;
+import org.dbflute.utflute.core.policestory.miscfile.PoliceStoryMiscFileHandler;
 
 /**
  * @author jflute
@@ -27,6 +43,11 @@ import org.dbflute.utflute.core.policestory.jspfile.PoliceStoryJspFileHandler;
  */
 public class PoliceStoryTest extends PlainTestCase {
 
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected File _workDir; // null allowed: only while changed-only test
+
     // ===================================================================================
     //                                                                               Basic
     //                                                                               =====
@@ -48,6 +69,66 @@ public class PoliceStoryTest extends PlainTestCase {
         assertMarked("called");
     }
 
+    public void test_policeStoryOfJavaClassChase_parallelHandling() throws Exception {
+        final List<Class<?>> serialList = new ArrayList<Class<?>>();
+        policeStoryOfJavaClassChase(new PoliceStoryJavaClassHandler() {
+            public void handle(File srcFile, Class<?> clazz) {
+                serialList.add(clazz); // in one thread
+            }
+        });
+        final Set<Class<?>> parallelSet = ConcurrentHashMap.newKeySet();
+        final Set<String> threadNameSet = ConcurrentHashMap.newKeySet();
+        policeStoryOfJavaClassChase(new PoliceStoryJavaClassHandler() {
+            public void handle(File srcFile, Class<?> clazz) {
+                assertEquals(clazz.getSimpleName() + ".java", srcFile.getName());
+                parallelSet.add(clazz);
+                threadNameSet.add(Thread.currentThread().getName());
+            }
+
+            @Override
+            public boolean isParallelHandling() {
+                return true;
+            }
+        });
+        log("classes: {}, threads: {}", serialList.size(), threadNameSet);
+        assertHasAnyElement(serialList);
+        assertEquals(serialList.size(), parallelSet.size());
+        assertTrue(parallelSet.containsAll(serialList));
+        assertFalse(threadNameSet.contains(Thread.currentThread().getName()));
+    }
+
+    public void test_policeStoryOfClassFileChase_descriptor() throws Exception {
+        final Map<String, PoliceStoryClassDescriptor> descriptorMap = new ConcurrentHashMap<String, PoliceStoryClassDescriptor>();
+        policeStoryOfClassFileChase(new PoliceStoryClassFileHandler() {
+            public void handle(File classFile, PoliceStoryClassDescriptor descriptor) {
+                descriptorMap.put(descriptor.getClassName(), descriptor);
+            }
+
+            @Override
+            public boolean containsTestClass() {
+                return true;
+            }
+        });
+        final PoliceStoryClassDescriptor plainDesc = descriptorMap.get(PlainTestCase.class.getName());
+        assertNotNull(plainDesc);
+        assertEquals("junit.framework.TestCase", plainDesc.getSuperClassName());
+        assertTrue(plainDesc.isAbstract());
+        final PoliceStoryClassDescriptor directorDesc = descriptorMap.get(CannonballDirector.class.getName());
+        assertTrue(directorDesc.getReferencedTypeSet().contains(CannonballStaff.class.getName()));
+        assertFalse(directorDesc.getReferencedTypeSet().contains(CannonballDirector.class.getName()));
+        final PoliceStoryClassDescriptor seaDesc = descriptorMap.get(PoliceStorySea.class.getName());
+        assertEquals("java.lang.Object", seaDesc.getSuperClassName());
+        assertEquals(Arrays.asList(Serializable.class.getName()), seaDesc.getInterfaceNameList());
+        assertTrue(seaDesc.hasAnnotation(Deprecated.class));
+        assertTrue(seaDesc.isNestedClass());
+    }
+
+    @Deprecated
+    protected static class PoliceStorySea implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
     public void test_policeStoryOfJspFileChase_notExists() throws Exception {
         try {
             policeStoryOfJspFileChase(new PoliceStoryJspFileHandler() {
@@ -60,4 +141,96 @@ public class PoliceStoryTest extends PlainTestCase {
             log(e.getMessage());
         }
     }
+
+    // ===================================================================================
+    //                                                                        Changed Only
+    //                                                                        ============
+    public void test_policeStoryOfMiscFileChase_changedOnly() throws Exception {
+        _workDir = Files.createTempDirectory("policestory-test").toFile(); // also for fingerprint index
+        try {
+            doTest_policeStoryOfMiscFileChase_changedOnly(new File(_workDir, "misc"));
+        } finally {
+            deleteWorkDir(_workDir);
+            _workDir = null;
+        }
+    }
+
+    protected void doTest_policeStoryOfMiscFileChase_changedOnly(File miscDir) throws IOException {
+        // ## Arrange ##
+        writeMiscFile(new File(miscDir, "sea.txt"), "mystic");
+        writeMiscFile(new File(miscDir, "land/oneman.txt"), "minnie");
+        writeMiscFile(new File(miscDir, "land/showbase.txt"), "dstore");
+        final List<String> handledList = new ArrayList<String>();
+
+        // ## Act ##
+        // ## Assert ##
+        chaseChangedOnly(miscDir, handledList, null);
+        assertEquals(3, handledList.size()); // first time
+
+        handledList.clear();
+        chaseChangedOnly(miscDir, handledList, null);
+        assertEquals(0, handledList.size()); // all skipped
+
+        writeMiscFile(new File(miscDir, "land/oneman.txt"), "minnie and mickey");
+        handledList.clear();
+        chaseChangedOnly(miscDir, handledList, null);
+        assertEquals(Arrays.asList("oneman.txt"), handledList);
+
+        handledList.clear();
+        try {
+            writeMiscFile(new File(miscDir, "sea.txt"), "mystic hangar");
+            chaseChangedOnly(miscDir, handledList, "sea.txt");
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getMessage());
+        }
+        handledList.clear();
+        chaseChangedOnly(miscDir, handledList, null);
+        assertEquals(Arrays.asList("sea.txt"), handledList); // failed at last time
+    }
+
+    protected void chaseChangedOnly(File miscDir, List<String> handledList, String failureFileName) {
+        policeStoryOfMiscFileChase(new PoliceStoryMiscFileHandler() {
+            public void handle(File miscFile) {
+                handledList.add(miscFile.getName());
+                if (miscFile.getName().equals(failureFileName)) {
+                    throw new IllegalStateException("failure: " + miscFile);
+                }
+            }
+
+            @Override
+            public boolean isChangedOnly() {
+                return true;
+            }
+        }, miscDir);
+    }
+
+    protected void writeMiscFile(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected void deleteWorkDir(File dir) {
+        final File[] children = dir.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteWorkDir(child);
+            }
+        }
+        dir.delete();
+    }
+
+    @Override
+    protected PoliceStory newPoliceStory(Object testCase, File projectDir) {
+        final File workDir = _workDir;
+        if (workDir == null) {
+            return super.newPoliceStory(testCase, projectDir);
+        }
+        return new PoliceStory(testCase, projectDir) {
+            @Override
+            protected File getFingerprintIndexDir() {
+                return new File(workDir, "index");
+            }
+        };
+    }
 }
@@ -0,0 +1,615 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Resource;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.utflute.core.binding.BoundResult.BoundField;
+import org.dbflute.utflute.core.binding.BoundResult.BoundLookup;
+import org.dbflute.utflute.core.binding.BoundResult.BoundProperty;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class ComponentBinderTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                      Injection Plan
+    //                                                                      ==============
+    public void test_prepareInjectionPlan_sameAsFreshReflection() throws Exception {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder(prepareComponentMap());
+
+        // ## Act ##
+        ComponentInjectionPlan first = binder.prepareInjectionPlan(SeaAction.class);
+        ComponentInjectionPlan second = binder.prepareInjectionPlan(SeaAction.class);
+        ComponentInjectionPlan fresh = binder.buildInjectionPlan(SeaAction.class);
+
+        // ## Assert ##
+        log(first);
+        assertSame(first, second); // cached
+        assertEquals(fresh.toString(), first.toString());
+        assertEquals(3, first.getFieldInjectionList().size()); // land, piari and super's bonvo
+        assertEquals(1, first.getPropertyInjectionList().size()); // dockside
+    }
+
+    public void test_bindComponent_cachedPlan_sameAsFreshReflection() throws Exception {
+        // ## Arrange ##
+        Map<Object, Object> componentMap = prepareComponentMap();
+        ComponentBinder cachedBinder = createBinder(componentMap);
+        cachedBinder.bindComponent(new SeaAction()); // to cache the plan
+        ComponentBinder freshBinder = new ComponentBinder(createProvider(componentMap), createRuleProvider()) {
+            @Override
+            protected boolean isInjectionPlanCacheable() {
+                return false;
+            }
+        };
+
+        // ## Act ##
+        SeaAction cachedAction = new SeaAction();
+        BoundResult cachedResult = cachedBinder.bindComponent(cachedAction);
+        SeaAction freshAction = new SeaAction();
+        BoundResult freshResult = freshBinder.bindComponent(freshAction);
+
+        // ## Assert ##
+        assertBoundAction(cachedAction, componentMap);
+        assertBoundAction(freshAction, componentMap);
+        assertEquals(extractBoundNameList(freshResult), extractBoundNameList(cachedResult));
+
+        cachedBinder.revertBoundComponent(cachedResult);
+        assertNull(cachedAction.landLogic);
+        assertNull(cachedAction.getDocksideLogic());
+    }
+
+    public void test_clearInjectionPlanCache() throws Exception {
+        ComponentBinder binder = createBinder(prepareComponentMap());
+        ComponentInjectionPlan first = binder.prepareInjectionPlan(SeaAction.class);
+        ComponentBinder.clearInjectionPlanCache();
+        ComponentInjectionPlan second = binder.prepareInjectionPlan(SeaAction.class);
+        assertNotSame(first, second);
+        assertEquals(first.toString(), second.toString());
+    }
+
+    // ===================================================================================
+    //                                                                  Resolved Component
+    //                                                                  ==================
+    public void test_cacheResolvedComponent_singletonOnly() throws Exception {
+        // ## Arrange ##
+        Map<Object, Object> componentMap = prepareComponentMap();
+        List<Class<?>> providedList = new ArrayList<Class<?>>();
+        ComponentBinder binder = createCountingBinder(componentMap, providedList, new Object());
+
+        // ## Act ##
+        SeaAction first = new SeaAction();
+        binder.bindComponent(first);
+        SeaAction second = new SeaAction();
+        binder.bindComponent(second);
+
+        // ## Assert ##
+        log(providedList);
+        assertBoundAction(first, componentMap);
+        assertBoundAction(second, componentMap);
+        assertEquals(1, countProvided(providedList, LandLogic.class)); // singleton
+        assertEquals(2, countProvided(providedList, PiariLogic.class)); // not singleton
+    }
+
+    public void test_cacheResolvedComponent_perContainer() throws Exception {
+        // ## Arrange ##
+        Map<Object, Object> componentMap = prepareComponentMap();
+        List<Class<?>> providedList = new ArrayList<Class<?>>();
+        Object seaContainer = new Object();
+        Object landContainer = new Object();
+        ComponentBinder seaBinder = createCountingBinder(componentMap, providedList, seaContainer);
+        ComponentBinder landBinder = createCountingBinder(componentMap, providedList, landContainer);
+
+        // ## Act ##
+        seaBinder.bindComponent(new SeaAction());
+        landBinder.bindComponent(new SeaAction()); // other container does not hit
+        seaBinder.bindComponent(new SeaAction());
+
+        // ## Assert ##
+        assertEquals(2, countProvided(providedList, LandLogic.class));
+
+        ComponentBinder.clearResolvedComponentCache(seaContainer); // e.g. destroyed
+        seaBinder.bindComponent(new SeaAction());
+        landBinder.bindComponent(new SeaAction());
+        assertEquals(3, countProvided(providedList, LandLogic.class)); // only sea is looked up again
+    }
+
+    public void test_cacheResolvedComponent_noContainer() throws Exception {
+        // ## Arrange ##
+        Map<Object, Object> componentMap = prepareComponentMap();
+        List<Class<?>> providedList = new ArrayList<Class<?>>();
+        ComponentBinder binder = createCountingBinder(componentMap, providedList, null);
+
+        // ## Act ##
+        binder.bindComponent(new SeaAction());
+        binder.bindComponent(new SeaAction());
+
+        // ## Assert ##
+        assertEquals(2, countProvided(providedList, LandLogic.class)); // unknown container so no cache
+    }
+
+    public void test_cacheResolvedComponent_mockBeforeCache() throws Exception {
+        // ## Arrange ##
+        Map<Object, Object> componentMap = prepareComponentMap();
+        List<Class<?>> providedList = new ArrayList<Class<?>>();
+        Object container = new Object();
+        createCountingBinder(componentMap, providedList, container).bindComponent(new SeaAction()); // cached here
+        ComponentBinder binder = createCountingBinder(componentMap, providedList, container);
+        LandLogic mock = new LandLogic() {
+        };
+        binder.addMockInstance(mock);
+
+        // ## Act ##
+        SeaAction mocked = new SeaAction();
+        binder.bindComponent(mocked);
+        SeaAction plain = new SeaAction();
+        createCountingBinder(componentMap, providedList, container).bindComponent(plain);
+
+        // ## Assert ##
+        assertSame(mock, mocked.landLogic);
+        assertSame(componentMap.get(LandLogic.class), plain.landLogic); // cache is not broken by mock
+        assertEquals(1, countProvided(providedList, LandLogic.class));
+    }
+
+    public void test_cacheResolvedComponent_registeredLater() throws Exception {
+        // ## Arrange ##
+        Map<Object, Object> componentMap = prepareComponentMap();
+        LandLogic landLogic = (LandLogic) componentMap.remove(LandLogic.class);
+        ComponentBinder binder = createCountingBinder(componentMap, new ArrayList<Class<?>>(), new Object());
+        SeaAction missed = new SeaAction();
+        binder.bindComponent(missed);
+        assertNull(missed.landLogic);
+
+        // ## Act ##
+        componentMap.put(LandLogic.class, landLogic); // e.g. lazily-registered
+        SeaAction found = new SeaAction();
+        binder.bindComponent(found);
+
+        // ## Assert ##
+        assertSame(landLogic, found.landLogic); // not-found is not cached
+    }
+
+    // ===================================================================================
+    //                                                                        Lazy Binding
+    //                                                                        ============
+    public void test_lazyInterfaceBinding_resolvedAtFirstCall() throws Exception {
+        // ## Arrange ##
+        Map<Object, Object> componentMap = prepareComponentMap();
+        SeaService service = () -> "mystic";
+        componentMap.put(SeaService.class, service);
+        List<Class<?>> providedList = new ArrayList<Class<?>>();
+        ComponentBinder binder = createCountingBinder(componentMap, providedList, null);
+        binder.lazyInterfaceBinding();
+
+        // ## Act ##
+        LazyAction action = new LazyAction();
+        binder.bindComponent(action);
+
+        // ## Assert ##
+        assertNotNull(action.seaService);
+        assertNotSame(service, action.seaService); // proxy
+        assertSame(componentMap.get(LandLogic.class), action.landLogic); // not interface so injected directly
+        assertNull(action.piariService); // not found so no proxy
+        assertFalse(providedList.contains(SeaService.class));
+        log(action.seaService); // not resolved by toString()
+        assertFalse(providedList.contains(SeaService.class));
+
+        assertEquals("mystic", action.seaService.sail());
+        assertEquals("mystic", action.seaService.sail());
+        assertEquals(1, countProvided(providedList, SeaService.class)); // resolved once
+    }
+
+    public void test_lazyInterfaceBinding_mockInjectedDirectly() throws Exception {
+        // ## Arrange ##
+        Map<Object, Object> componentMap = prepareComponentMap();
+        componentMap.put(SeaService.class, (SeaService) () -> "mystic");
+        ComponentBinder binder = createBinder(componentMap);
+        binder.lazyInterfaceBinding();
+        SeaService mock = () -> "oneman";
+        binder.addMockInstance(mock);
+
+        // ## Act ##
+        LazyAction action = new LazyAction();
+        binder.bindComponent(action);
+
+        // ## Assert ##
+        assertSame(mock, action.seaService);
+    }
+
+    // ===================================================================================
+    //                                                                     Nested Parallel
+    //                                                                     ===============
+    public void test_groupNestedBranch_sharedMockTransitively() throws Exception {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder(prepareComponentMap());
+        binder.addMockInstance(new MockHangarHelper());
+        binder.addMockInstance(new MockMagiclampHelper());
+        List<ComponentBinder.InjectedComponentContainer> containerList = newArrayList();
+        containerList.add(ComponentBinder.InjectedComponentContainer.of(new AmbaLogic())); // mock hangar, and its magiclamp
+        containerList.add(ComponentBinder.InjectedComponentContainer.of(new MiraLogic())); // same as amba
+        containerList.add(ComponentBinder.InjectedComponentContainer.of(new BonvoLogic())); // no mock
+        containerList.add(ComponentBinder.InjectedComponentContainer.of(null)); // not found
+        containerList.add(ComponentBinder.InjectedComponentContainer.of(new CelebLogic())); // mock magiclamp
+
+        // ## Act ##
+        List<List<Integer>> groupList = binder.groupNestedBranch(containerList);
+
+        // ## Assert ##
+        log(groupList);
+        assertEquals(2, groupList.size());
+        assertEquals(newArrayList(0, 1, 4), groupList.get(0));
+        assertEquals(newArrayList(2), groupList.get(1));
+    }
+
+    public void test_parallelNestedBinding_sameOrderAndRestore_sharedMock() throws Exception {
+        // ## Arrange ##
+        Map<Object, Object> componentMap = prepareComponentMap();
+        AmbaLogic amba = new AmbaLogic();
+        MiraLogic mira = new MiraLogic();
+        CelebLogic celeb = new CelebLogic();
+        componentMap.put(AmbaLogic.class, amba);
+        componentMap.put(MiraLogic.class, mira);
+        componentMap.put(CelebLogic.class, celeb);
+        MockHangarHelper mockHangar = new MockHangarHelper();
+        MockMagiclampHelper mockMagiclamp = new MockMagiclampHelper();
+        HangarHelper ambaHangar = amba.hangarHelper;
+        HangarHelper miraHangar = mira.hangarHelper;
+        MagiclampHelper celebMagiclamp = celeb.magiclampHelper;
+        MagiclampHelper mockHangarMagiclamp = mockHangar.magiclampHelper;
+        ComponentBinder sequentialBinder = createBinder(componentMap);
+        ComponentBinder parallelBinder = createBinder(componentMap);
+        parallelBinder.parallelNestedBinding();
+        for (ComponentBinder binder : newArrayList(sequentialBinder, parallelBinder)) {
+            binder.addMockInstance(mockHangar);
+            binder.addMockInstance(mockMagiclamp);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            // ## Act ##
+            ParallelAction sequentialAction = new ParallelAction();
+            BoundResult sequentialResult = sequentialBinder.bindComponent(sequentialAction);
+            String sequentialExp = buildNestedExp(sequentialResult);
+            sequentialBinder.revertBoundComponent(sequentialResult);
+            ParallelAction parallelAction = new ParallelAction();
+            BoundResult parallelResult = parallelBinder.bindComponent(parallelAction);
+            String parallelExp = buildNestedExp(parallelResult);
+
+            // ## Assert ##
+            assertEquals(sequentialExp, parallelExp);
+            assertSame(mockHangar, amba.hangarHelper);
+            assertSame(mockMagiclamp, mockHangar.magiclampHelper);
+            parallelBinder.revertBoundComponent(parallelResult);
+            assertSame(ambaHangar, amba.hangarHelper);
+            assertSame(miraHangar, mira.hangarHelper);
+            assertSame(celebMagiclamp, celeb.magiclampHelper);
+            assertSame(mockHangarMagiclamp, mockHangar.magiclampHelper);
+        }
+    }
+
+    protected String buildNestedExp(BoundResult boundResult) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(boundResult.getTargetBean().getClass().getSimpleName()).append(extractBoundNameList(boundResult));
+        for (BoundResult nestedResult : boundResult.getNestedBoundResultList()) {
+            sb.append("{").append(buildNestedExp(nestedResult)).append("}");
+        }
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                       Lookup Timing
+    //                                                                       =============
+    public void test_recordLookupTiming() throws Exception {
+        // ## Arrange ##
+        ComponentBinder binder = createBinder(prepareComponentMap());
+
+        // ## Act ##
+        BoundResult plainResult = binder.bindComponent(new SeaAction());
+        binder.recordLookupTiming();
+        BoundResult timingResult = binder.bindComponent(new SeaAction());
+
+        // ## Assert ##
+        log(timingResult.getBoundLookupList());
+        assertTrue(plainResult.getBoundLookupList().isEmpty()); // no timing cost as default
+        assertEquals(4, timingResult.getBoundLookupList().size());
+        for (BoundLookup lookup : timingResult.getBoundLookupList()) {
+            assertEquals(SeaAction.class, lookup.getOwnerType()); // also for super's field and property
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Legacy Hook
+    //                                                                         ===========
+    public void test_bindComponent_legacyHook_stillCalled() throws Exception {
+        // ## Arrange ##
+        Map<Object, Object> componentMap = prepareComponentMap();
+        List<String> calledList = new ArrayList<String>();
+        ComponentBinder binder = new ComponentBinder(createProvider(componentMap), createRuleProvider()) {
+            @SuppressWarnings("deprecation")
+            @Override
+            protected void fireFieldBinding(Object bean, Field field, BoundResult boundResult) {
+                calledList.add("field:" + field.getName());
+                super.fireFieldBinding(bean, field, boundResult);
+            }
+
+            @SuppressWarnings("deprecation")
+            @Override
+            protected Object findInjectedComponent(String propertyName, Class<?> propertyType, Annotation bindingAnno,
+                    BoundResult boundResult) {
+                calledList.add("find:" + propertyName);
+                return super.findInjectedComponent(propertyName, propertyType, bindingAnno, boundResult);
+            }
+
+            @SuppressWarnings("deprecation")
+            @Override
+            protected InjectedComponentContainer doFindInjectedComponent(String propertyName, Class<?> propertyType,
+                    Annotation bindingAnno) {
+                calledList.add("doFind:" + propertyName);
+                return super.doFindInjectedComponent(propertyName, propertyType, bindingAnno);
+            }
+        };
+
+        // ## Act ##
+        SeaAction action = new SeaAction();
+        binder.bindComponent(action);
+
+        // ## Assert ##
+        log(calledList);
+        assertBoundAction(action, componentMap);
+        assertTrue(calledList.contains("field:landLogic"));
+        assertTrue(calledList.contains("field:hangar")); // legacy path visits all fields
+        assertTrue(calledList.contains("find:landLogic"));
+        assertTrue(calledList.contains("find:docksideLogic"));
+        assertTrue(calledList.contains("doFind:piariLogic"));
+    }
+
+    public void test_bindComponent_noLegacyHook() throws Exception {
+        ComponentBinder binder = createBinder(prepareComponentMap());
+        assertFalse(binder._legacyFieldBinding);
+        assertFalse(binder._legacyPropertyBinding);
+        assertFalse(binder._legacyFinding);
+        assertFalse(binder._legacyDoFinding);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected Map<Object, Object> prepareComponentMap() {
+        Map<Object, Object> componentMap = new HashMap<Object, Object>();
+        componentMap.put(LandLogic.class, new LandLogic());
+        componentMap.put(PiariLogic.class, new PiariLogic());
+        componentMap.put(BonvoLogic.class, new BonvoLogic());
+        componentMap.put(DocksideLogic.class, new DocksideLogic());
+        return componentMap;
+    }
+
+    protected ComponentBinder createBinder(Map<Object, Object> componentMap) {
+        return new ComponentBinder(createProvider(componentMap), createRuleProvider());
+    }
+
+    protected ComponentProvider createProvider(Map<Object, Object> componentMap) {
+        return new ComponentProvider() {
+            @SuppressWarnings("unchecked")
+            public <COMPONENT> COMPONENT provideComponent(Class<COMPONENT> type) {
+                return (COMPONENT) componentMap.get(type);
+            }
+
+            @SuppressWarnings("unchecked")
+            public <COMPONENT> COMPONENT provideComponent(String name) {
+                return (COMPONENT) componentMap.get(name);
+            }
+
+            public boolean existsComponent(Class<?> type) {
+                return componentMap.containsKey(type);
+            }
+
+            public boolean existsComponent(String name) {
+                return componentMap.containsKey(name);
+            }
+        };
+    }
+
+    protected ComponentBinder createCountingBinder(Map<Object, Object> componentMap, List<Class<?>> providedList, Object container) {
+        ComponentProvider provider = createProvider(componentMap);
+        ComponentBinder binder = new ComponentBinder(new ComponentProvider() {
+            public <COMPONENT> COMPONENT provideComponent(Class<COMPONENT> type) {
+                providedList.add(type);
+                return provider.provideComponent(type);
+            }
+
+            public <COMPONENT> COMPONENT provideComponent(String name) {
+                return provider.provideComponent(name);
+            }
+
+            public boolean existsComponent(Class<?> type) {
+                return provider.existsComponent(type);
+            }
+
+            public boolean existsComponent(String name) {
+                return provider.existsComponent(name);
+            }
+
+            @Override
+            public boolean isSingletonComponent(Class<?> type) {
+                return !PiariLogic.class.equals(type); // piari is prototype
+            }
+        }, createRuleProvider());
+        binder.cacheResolvedComponent(() -> container);
+        return binder;
+    }
+
+    protected int countProvided(List<Class<?>> providedList, Class<?> type) {
+        int count = 0;
+        for (Class<?> provided : providedList) {
+            if (provided.equals(type)) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    protected BindingRuleProvider createRuleProvider() {
+        return new BindingRuleProvider() {
+            public Map<Class<? extends Annotation>, BindingAnnotationRule> provideBindingAnnotationRuleMap() {
+                Map<Class<? extends Annotation>, BindingAnnotationRule> ruleMap = newHashMap();
+                ruleMap.put(Resource.class, new BindingAnnotationRule());
+                return ruleMap;
+            }
+
+            public String filterByBindingNamingRule(String propertyName, Class<?> propertyType) {
+                return null;
+            }
+        };
+    }
+
+    protected void assertBoundAction(SeaAction action, Map<Object, Object> componentMap) {
+        assertSame(componentMap.get(LandLogic.class), action.landLogic);
+        assertSame(componentMap.get(PiariLogic.class), action.piariLogic);
+        assertSame(componentMap.get(BonvoLogic.class), action.bonvoLogic);
+        assertSame(componentMap.get(DocksideLogic.class), action.getDocksideLogic());
+        assertNull(action.hangar); // no annotation
+    }
+
+    protected List<String> extractBoundNameList(BoundResult boundResult) {
+        List<String> nameList = new ArrayList<String>();
+        for (BoundField boundField : boundResult.getBoundFieldList()) {
+            nameList.add(boundField.getField().getName());
+        }
+        for (BoundProperty boundProperty : boundResult.getBoundPropertyList()) {
+            nameList.add(boundProperty.getPropertyDesc().getPropertyName());
+        }
+        return nameList;
+    }
+
+    // ===================================================================================
+    //                                                                           Test Bean
+    //                                                                           =========
+    public static class SeaBaseAction {
+
+        @Resource
+        protected BonvoLogic bonvoLogic;
+    }
+
+    public static class SeaAction extends SeaBaseAction {
+
+        @Resource
+        protected LandLogic landLogic;
+        @Resource
+        protected PiariLogic piariLogic;
+        protected LandLogic hangar; // not target
+        protected DocksideLogic docksideLogic;
+
+        public DocksideLogic getDocksideLogic() {
+            return docksideLogic;
+        }
+
+        @Resource
+        public void setDocksideLogic(DocksideLogic docksideLogic) {
+            this.docksideLogic = docksideLogic;
+        }
+    }
+
+    public static class LazyAction {
+
+        @Resource
+        protected SeaService seaService;
+        @Resource
+        protected PiariService piariService;
+        @Resource
+        protected LandLogic landLogic;
+    }
+
+    public static interface SeaService {
+
+        String sail();
+    }
+
+    public static interface PiariService {
+    }
+
+    public static class ParallelAction {
+
+        @Resource
+        protected AmbaLogic ambaLogic;
+        @Resource
+        protected MiraLogic miraLogic;
+        @Resource
+        protected BonvoLogic bonvoLogic;
+        @Resource
+        protected CelebLogic celebLogic;
+    }
+
+    public static class AmbaLogic {
+
+        @Resource
+        protected HangarHelper hangarHelper = new RealHangarHelper();
+    }
+
+    public static class MiraLogic {
+
+        @Resource
+        protected HangarHelper hangarHelper = new RealHangarHelper();
+    }
+
+    public static class CelebLogic {
+
+        @Resource
+        protected MagiclampHelper magiclampHelper = new RealMagiclampHelper();
+    }
+
+    public static interface HangarHelper {
+    }
+
+    public static class RealHangarHelper implements HangarHelper {
+    }
+
+    public static class MockHangarHelper implements HangarHelper {
+
+        @Resource
+        protected MagiclampHelper magiclampHelper = new RealMagiclampHelper();
+    }
+
+    public static interface MagiclampHelper {
+    }
+
+    public static class RealMagiclampHelper implements MagiclampHelper {
+    }
+
+    public static class MockMagiclampHelper implements MagiclampHelper {
+    }
+
+    public static class LandLogic {
+    }
+
+    public static class PiariLogic {
+    }
+
+    public static class BonvoLogic {
+    }
+
+    public static class DocksideLogic {
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class ComponentSnapshotTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                             Restore
+    //                                                                             =======
+    public void test_restore_changedFieldRestored() throws Exception {
+        // ## Arrange ##
+        SeaAction action = new SeaAction();
+        BoundResult boundResult = bindAction(action);
+        ComponentSnapshot snapshot = new ComponentSnapshot();
+        snapshot.take(boundResult);
+        LandLogic originalLand = action.seaLogic.landLogic;
+
+        // ## Act ##
+        action.seaLogic.count = 3;
+        action.seaLogic.name = "plaza";
+        action.seaLogic.landLogic = new LandLogic();
+        int restoredCount = snapshot.restore();
+
+        // ## Assert ##
+        assertEquals(3, restoredCount);
+        assertEquals(0, action.seaLogic.count);
+        assertEquals("mystic", action.seaLogic.name);
+        assertSame(originalLand, action.seaLogic.landLogic);
+        assertEquals(0, snapshot.restore()); // already restored
+    }
+
+    public void test_restore_untouchedLeftAlone() throws Exception {
+        // ## Arrange ##
+        SeaAction action = new SeaAction();
+        BoundResult boundResult = bindAction(action);
+        ComponentSnapshot snapshot = new ComponentSnapshot();
+        snapshot.take(boundResult);
+        PiariLogic notInjected = new PiariLogic();
+        String seaName = action.seaLogic.name;
+
+        // ## Act ##
+        notInjected.name = "bonvo"; // not in the snapshot
+        action.seaLogic.historyList.add("dockside"); // shallow so not restored
+        int restoredCount = snapshot.restore();
+
+        // ## Assert ##
+        assertEquals(0, restoredCount);
+        assertSame(seaName, action.seaLogic.name);
+        assertEquals("oneman", action.landLogic.name);
+        assertEquals("bonvo", notInjected.name);
+        assertEquals(1, action.seaLogic.historyList.size());
+        assertEquals(2, snapshot.getComponentCount()); // sea and land
+    }
+
+    public void test_restore_nestedTargetRestored() throws Exception {
+        // ## Arrange ##
+        SeaAction action = new SeaAction();
+        BoundResult boundResult = bindAction(action);
+        BoundResult nestedResult = new BoundResult(action.seaLogic.landLogic); // e.g. nested mock is injected
+        boundResult.addNestedBoundResult(nestedResult);
+        ComponentSnapshot snapshot = new ComponentSnapshot();
+        snapshot.take(boundResult);
+
+        // ## Act ##
+        action.seaLogic.landLogic.name = "amba";
+        int restoredCount = snapshot.restore();
+
+        // ## Assert ##
+        assertEquals(1, restoredCount);
+        assertEquals("oneman", action.seaLogic.landLogic.name);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected BoundResult bindAction(SeaAction action) throws Exception {
+        action.seaLogic = new SeaLogic();
+        action.landLogic = new LandLogic();
+        BoundResult boundResult = new BoundResult(action);
+        boundResult.addBoundField(SeaAction.class.getDeclaredField("seaLogic"), null);
+        boundResult.addBoundField(SeaAction.class.getDeclaredField("landLogic"), null);
+        return boundResult;
+    }
+
+    // ===================================================================================
+    //                                                                           Test Bean
+    //                                                                           =========
+    public static class SeaAction {
+
+        protected SeaLogic seaLogic;
+        protected LandLogic landLogic;
+    }
+
+    public static class SeaLogic {
+
+        protected int count;
+        protected String name = "mystic";
+        protected LandLogic landLogic = new LandLogic();
+        protected final List<String> historyList = new ArrayList<String>();
+    }
+
+    public static class LandLogic {
+
+        protected String name = "oneman";
+    }
+
+    public static class PiariLogic {
+
+        protected String name = "piari";
+    }
+}
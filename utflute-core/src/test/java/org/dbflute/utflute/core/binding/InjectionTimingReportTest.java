@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class InjectionTimingReportTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public void test_buildReportLineList_aggregated() {
+        // ## Arrange ##
+        InjectionTimingReport report = new InjectionTimingReport(new File("not-written.txt"));
+
+        // ## Act ##
+        report.recordSetUp(SeaActionTest.class, 4000000L, 2000000L, 1000000L);
+        report.recordSetUp(SeaActionTest.class, 1000000L, 2000000L, 1000000L);
+        report.recordSetUp(LandActionTest.class, 1000000L, 1000000L, 0L);
+        BoundResult seaResult = new BoundResult(new SeaActionTest());
+        seaResult.addBoundLookup(SeaActionTest.class, "seaLogic", new SeaLogic(), 3000000L);
+        seaResult.addBoundLookup(SeaActionTest.class, "landLogic", null, 500000L); // not found
+        report.recordBoundResult(seaResult);
+        BoundResult landResult = new BoundResult(new LandActionTest());
+        landResult.addBoundLookup(LandActionTest.class, "seaLogic", new SeaLogic(), 900000L);
+        report.recordBoundResult(landResult);
+        report.recordBoundResult(seaResult);
+
+        // ## Assert ##
+        List<String> lineList = report.buildReportLineList();
+        log(ln() + String.join(ln(), lineList));
+        assertEquals("[Suite] setUp=3, container=6.000ms, injection=5.000ms, transaction=2.000ms", lineList.get(1));
+        assertEquals("[Slowest Classes] by total setUp", lineList.get(2));
+        assertEquals(" 11.000ms SeaActionTest (setUp=2, container=5.000ms, injection=4.000ms, transaction=2.000ms)", lineList.get(3));
+        assertEquals(" 2.000ms LandActionTest (setUp=1, container=1.000ms, injection=1.000ms, transaction=0.000ms)", lineList.get(4));
+        assertEquals("[Slowest Fields] by total lookup", lineList.get(5));
+        assertEquals(" 6.000ms SeaActionTest.seaLogic -> SeaLogic (count=2, max=3.000ms)", lineList.get(6));
+        assertEquals(" 1.000ms SeaActionTest.landLogic -> (not found) (count=2, max=0.500ms)", lineList.get(7));
+        assertEquals(" 0.900ms LandActionTest.seaLogic -> SeaLogic (count=1, max=0.900ms)", lineList.get(8));
+        assertEquals("[Slowest Components] by total lookup", lineList.get(9));
+        assertEquals(" 6.900ms " + SeaLogic.class.getName() + " (count=3, max=3.000ms)", lineList.get(10));
+        assertEquals(11, lineList.size()); // not-found is not component
+    }
+
+    // ===================================================================================
+    //                                                                               Write
+    //                                                                               =====
+    public void test_write_file() throws Exception {
+        // ## Arrange ##
+        File workDir = Files.createTempDirectory("timing-report-test").toFile();
+        File reportFile = new File(workDir, "timing/injection-timing.txt");
+        InjectionTimingReport report = new InjectionTimingReport(reportFile);
+        try {
+            // ## Act ##
+            report.write();
+
+            // ## Assert ##
+            assertFalse(reportFile.exists()); // no record
+            report.recordSetUp(SeaActionTest.class, 1000000L, 1000000L, 1000000L);
+            report.write();
+            List<String> lineList = Files.readAllLines(reportFile.toPath(), StandardCharsets.UTF_8);
+            assertEquals(report.buildReportLineList().subList(1, 4), lineList.subList(1, 4));
+        } finally {
+            reportFile.delete();
+            reportFile.getParentFile().delete();
+            workDir.delete();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Test Bean
+    //                                                                           =========
+    public static class SeaActionTest {
+    }
+
+    public static class LandActionTest {
+    }
+
+    public static class SeaLogic {
+    }
+}
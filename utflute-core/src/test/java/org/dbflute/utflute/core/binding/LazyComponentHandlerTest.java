@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.binding;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class LazyComponentHandlerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                             Resolve
+    //                                                                             =======
+    public void test_createProxy_resolvedAtFirstCall() {
+        // ## Arrange ##
+        AtomicInteger resolvedCount = new AtomicInteger();
+        SeaService proxy = (SeaService) LazyComponentHandler.createProxy(SeaService.class, () -> {
+            resolvedCount.incrementAndGet();
+            return new MysticSeaService();
+        });
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(0, resolvedCount.get());
+        assertEquals("mystic", proxy.sail());
+        assertEquals("mystic", proxy.sail());
+        assertEquals(1, resolvedCount.get());
+    }
+
+    public void test_createProxy_exceptionOfComponent() {
+        SeaService proxy = (SeaService) LazyComponentHandler.createProxy(SeaService.class, () -> (SeaService) () -> {
+            throw new IllegalStateException("mystic failure");
+        });
+        try {
+            proxy.sail();
+            fail();
+        } catch (IllegalStateException e) { // not wrapped by reflection
+            assertEquals("mystic failure", e.getMessage());
+        }
+    }
+
+    public void test_createProxy_notInterface() {
+        try {
+            LazyComponentHandler.createProxy(MysticSeaService.class, () -> new MysticSeaService());
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Object Method
+    //                                                                       =============
+    public void test_objectMethod_notResolved() {
+        // ## Arrange ##
+        AtomicInteger resolvedCount = new AtomicInteger();
+        MysticSeaService real = new MysticSeaService();
+        SeaService proxy = (SeaService) LazyComponentHandler.createProxy(SeaService.class, () -> {
+            resolvedCount.incrementAndGet();
+            return real;
+        });
+        SeaService other = (SeaService) LazyComponentHandler.createProxy(SeaService.class, () -> real);
+
+        // ## Act ##
+        int hashCode = proxy.hashCode();
+        String beforeExp = proxy.toString();
+
+        // ## Assert ##
+        log(beforeExp);
+        assertTrue(proxy.equals(proxy));
+        assertFalse(proxy.equals(other)); // identity of proxy
+        assertFalse(proxy.equals(real));
+        assertFalse(proxy.equals(null));
+        assertEquals(System.identityHashCode(proxy), hashCode);
+        assertContains(beforeExp, "not resolved");
+        assertEquals(0, resolvedCount.get());
+
+        proxy.sail();
+        log(proxy);
+        assertEquals(hashCode, proxy.hashCode()); // stable after resolution
+        assertTrue(proxy.equals(proxy));
+        assertContains(proxy.toString(), "MysticSeaService");
+        assertEquals(1, resolvedCount.get());
+    }
+
+    // ===================================================================================
+    //                                                                           Test Bean
+    //                                                                           =========
+    public static interface SeaService {
+
+        String sail();
+    }
+
+    public static class MysticSeaService implements SeaService {
+
+        public String sail() {
+            return "mystic";
+        }
+
+        @Override
+        public String toString() {
+            return "MysticSeaService";
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.container;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class ContainerPoolTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Reuse
+    //                                                                               =====
+    public void test_prepareContainer_reuseByFingerprint() {
+        // ## Arrange ##
+        ContainerPool pool = new ContainerPool(4);
+        List<String> bootedList = new ArrayList<String>();
+        ContainerFingerprint first = new ContainerFingerprint("sea.xml", Arrays.asList("mystic", 1), null);
+        ContainerFingerprint same = new ContainerFingerprint("sea.xml", Arrays.asList(2, "oneman"), new ArrayList<Class<?>>());
+        ContainerFingerprint other = new ContainerFingerprint("land.xml", null, null);
+
+        // ## Act ##
+        SeaContainer firstContainer = prepare(pool, first, bootedList, new ArrayList<String>());
+        SeaContainer sameContainer = prepare(pool, same, bootedList, new ArrayList<String>());
+        SeaContainer otherContainer = prepare(pool, other, bootedList, new ArrayList<String>());
+
+        // ## Assert ##
+        log(bootedList);
+        assertSame(firstContainer, sameContainer); // order of mocks does not matter, null is same as empty
+        assertNotSame(firstContainer, otherContainer);
+        assertEquals(Arrays.asList("sea.xml", "land.xml"), bootedList);
+        assertEquals(2, pool.getPooledCount());
+    }
+
+    // ===================================================================================
+    //                                                                               Evict
+    //                                                                               =====
+    public void test_prepareContainer_evictLeastRecentlyUsed() {
+        // ## Arrange ##
+        ContainerPool pool = new ContainerPool(2);
+        List<String> bootedList = new ArrayList<String>();
+        List<String> destroyedList = new ArrayList<String>();
+        SeaContainer sea = prepare(pool, new ContainerFingerprint("sea.xml", null, null), bootedList, destroyedList);
+        SeaContainer land = prepare(pool, new ContainerFingerprint("land.xml", null, null), bootedList, destroyedList);
+        pool.releaseContainer(land);
+        pool.releaseContainer(sea);
+        pool.releaseContainer(prepare(pool, new ContainerFingerprint("sea.xml", null, null), bootedList, destroyedList)); // touch sea
+
+        // ## Act ##
+        SeaContainer piari = prepare(pool, new ContainerFingerprint("piari.xml", null, null), bootedList, destroyedList);
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("land.xml"), destroyedList);
+        assertEquals(2, pool.getPooledCount());
+        pool.releaseContainer(piari);
+        assertEquals(Arrays.asList("land.xml"), destroyedList);
+    }
+
+    public void test_prepareContainer_inUse_notEvictedUntilRelease() {
+        // ## Arrange ##
+        ContainerPool pool = new ContainerPool(1);
+        List<String> bootedList = new ArrayList<String>();
+        List<String> destroyedList = new ArrayList<String>();
+        SeaContainer sea = prepare(pool, new ContainerFingerprint("sea.xml", null, null), bootedList, destroyedList);
+
+        // ## Act ##
+        SeaContainer land = prepare(pool, new ContainerFingerprint("land.xml", null, null), bootedList, destroyedList);
+
+        // ## Assert ##
+        assertTrue(destroyedList.isEmpty()); // sea is still used
+        assertEquals(2, pool.getPooledCount()); // overflow for a while
+        pool.releaseContainer(sea);
+        assertEquals(Arrays.asList("sea.xml"), destroyedList);
+        assertEquals(1, pool.getPooledCount());
+        pool.releaseContainer(land);
+        assertEquals(Arrays.asList("sea.xml"), destroyedList);
+    }
+
+    public void test_evictContainer_inUse_destroyedAtLastRelease() {
+        // ## Arrange ##
+        ContainerPool pool = new ContainerPool(4);
+        List<String> bootedList = new ArrayList<String>();
+        List<String> destroyedList = new ArrayList<String>();
+        ContainerFingerprint fingerprint = new ContainerFingerprint("sea.xml", null, null);
+        SeaContainer first = prepare(pool, fingerprint, bootedList, destroyedList);
+        SeaContainer second = prepare(pool, fingerprint, bootedList, destroyedList); // e.g. other test class in parallel
+
+        // ## Act ##
+        assertTrue(pool.evictContainer(fingerprint)); // e.g. destroy at tear-down of one test class
+        pool.releaseContainer(first);
+
+        // ## Assert ##
+        assertTrue(destroyedList.isEmpty());
+        assertEquals(0, pool.getPooledCount());
+        assertEquals(1, pool.getRetiredCount());
+        SeaContainer next = prepare(pool, fingerprint, bootedList, destroyedList);
+        assertNotSame(second, next); // evicted one is not reused
+        pool.releaseContainer(second);
+        assertEquals(Arrays.asList("sea.xml"), destroyedList);
+        assertEquals(0, pool.getRetiredCount());
+        pool.releaseContainer(next);
+    }
+
+    public void test_releaseContainer_notLeased() {
+        ContainerPool pool = new ContainerPool(4);
+        SeaContainer sea = prepare(pool, new ContainerFingerprint("sea.xml", null, null), newArrayList(), newArrayList());
+        pool.releaseContainer(sea);
+        try {
+            pool.releaseContainer(sea);
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getMessage());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Warm-up
+    //                                                                             =======
+    public void test_warmUpContainer_reusedByPrepare() throws Exception {
+        // ## Arrange ##
+        ContainerPool pool = new ContainerPool(4);
+        List<String> bootedList = new ArrayList<String>();
+        CountDownLatch bootedLatch = new CountDownLatch(1);
+        ContainerFingerprint fingerprint = new ContainerFingerprint("sea.xml", null, null); // same as warm-up of test case
+        assertTrue(pool.warmUpContainer(fingerprint, () -> {
+            bootedList.add("warm-up");
+            bootedLatch.countDown();
+            return new SeaContainer("sea.xml");
+        }, container -> {}));
+        assertFalse(pool.warmUpContainer(fingerprint, () -> new SeaContainer("sea.xml"), container -> {}));
+        bootedLatch.await();
+
+        // ## Act ##
+        ContainerFingerprint prepared = new ContainerFingerprint("sea.xml", new ArrayList<Object>(), new ArrayList<Class<?>>());
+        SeaContainer container = prepare(pool, prepared, bootedList, new ArrayList<String>());
+
+        // ## Assert ##
+        assertEquals("sea.xml", container.getConfigIdentity());
+        assertEquals(Arrays.asList("warm-up"), bootedList);
+        pool.releaseContainer(container);
+    }
+
+    public void test_warmUpContainer_bootFailure_reportedToWaiting() throws Exception {
+        // ## Arrange ##
+        ContainerPool pool = new ContainerPool(4);
+        ContainerFingerprint fingerprint = new ContainerFingerprint("sea.xml", null, null);
+        CountDownLatch failureLatch = new CountDownLatch(1);
+        pool.warmUpContainer(fingerprint, () -> {
+            try {
+                failureLatch.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            throw new IllegalStateException("mystic failure");
+        }, container -> {});
+        AtomicReference<Throwable> reported = new AtomicReference<Throwable>();
+        Thread waiting = new Thread(() -> {
+            try {
+                prepare(pool, fingerprint, new ArrayList<String>(), new ArrayList<String>());
+            } catch (RuntimeException e) {
+                reported.set(e);
+            }
+        });
+
+        // ## Act ##
+        waiting.start();
+        while (waiting.getState() != Thread.State.WAITING) { // waiting for the boot
+            Thread.sleep(10L);
+        }
+        failureLatch.countDown();
+        waiting.join();
+
+        // ## Assert ##
+        log(reported.get());
+        assertTrue(reported.get() instanceof IllegalStateException);
+        assertEquals("mystic failure", reported.get().getCause().getMessage());
+        assertEquals(0, pool.getPooledCount()); // next test boots it again
+    }
+
+    // ===================================================================================
+    //                                                                        Memory Limit
+    //                                                                        ============
+    public void test_prepareContainer_memoryLimit_byEstimator() {
+        // ## Arrange ##
+        ContainerPool pool = new ContainerPool(4, 100L, container -> ((SeaContainer) container).getMemoryBytes());
+        List<String> bootedList = new ArrayList<String>();
+        List<String> destroyedList = new ArrayList<String>();
+        pool.releaseContainer(prepare(pool, new ContainerFingerprint("sea.xml", null, null), bootedList, destroyedList)); // touch sea
+        pool.releaseContainer(prepare(pool, new ContainerFingerprint("land.xml", null, null), bootedList, destroyedList));
+        assertEquals(80L, pool.getTotalMemoryBytes());
+
+        // ## Act ##
+        SeaContainer piari = prepare(pool, new ContainerFingerprint("piari.xml", null, null), bootedList, destroyedList);
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("sea.xml"), destroyedList);
+        assertEquals(80L, pool.getTotalMemoryBytes());
+        pool.releaseContainer(piari);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected SeaContainer prepare(ContainerPool pool, ContainerFingerprint fingerprint, List<String> bootedList,
+            List<String> destroyedList) {
+        return pool.prepareContainer(fingerprint, () -> {
+            bootedList.add(fingerprint.getConfigIdentity());
+            return new SeaContainer(fingerprint.getConfigIdentity());
+        }, container -> {
+            destroyedList.add(container.getConfigIdentity());
+        });
+    }
+
+    protected static class SeaContainer {
+
+        protected final String configIdentity;
+
+        public SeaContainer(String configIdentity) {
+            this.configIdentity = configIdentity;
+        }
+
+        public String getConfigIdentity() {
+            return configIdentity;
+        }
+
+        public long getMemoryBytes() {
+            return 40L;
+        }
+    }
+}
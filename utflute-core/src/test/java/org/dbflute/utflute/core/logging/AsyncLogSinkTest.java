@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.utflute.core.logging;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.slf4j.Logger;
+
+/**
+ * @author jflute
+ * @since 0.9.9 (2026/10/17 Saturday)
+ */
+public class AsyncLogSinkTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                             Enqueue
+    //                                                                             =======
+    public void test_enqueue_order() {
+        // ## Arrange ##
+        List<String> writtenList = Collections.synchronizedList(new ArrayList<String>());
+        AsyncLogSink sink = new AsyncLogSink(4, 2);
+        Logger logger = createRecordingLogger(writtenList);
+
+        // ## Act ##
+        for (int i = 0; i < 50; i++) {
+            sink.enqueue(logger, "sea" + i, null);
+        }
+        sink.flush();
+
+        // ## Assert ##
+        assertEquals(buildExpectedList(50), writtenList);
+        assertEquals(50L, sink.getWrittenCount());
+    }
+
+    public void test_enqueue_interrupted_orderKept() {
+        // ## Arrange ##
+        List<String> writtenList = Collections.synchronizedList(new ArrayList<String>());
+        AsyncLogSink sink = new AsyncLogSink(2, 1); // small to wait for the writer
+        Logger logger = createRecordingLogger(writtenList);
+
+        // ## Act ##
+        Thread.currentThread().interrupt();
+        for (int i = 0; i < 50; i++) {
+            sink.enqueue(logger, "sea" + i, null);
+        }
+
+        // ## Assert ##
+        assertTrue(Thread.interrupted()); // restored (and cleared here)
+        sink.flush();
+        assertEquals(buildExpectedList(50), writtenList);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected Logger createRecordingLogger(List<String> writtenList) {
+        return (Logger) Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[] { Logger.class }, (proxy, method, args) -> {
+            if ("debug".equals(method.getName())) {
+                writtenList.add((String) args[0]);
+            }
+            return method.getReturnType() == boolean.class ? false : null;
+        });
+    }
+
+    protected List<String> buildExpectedList(int count) {
+        List<String> expectedList = new ArrayList<String>();
+        for (int i = 0; i < count; i++) {
+            expectedList.add("sea" + i);
+        }
+        return expectedList;
+    }
+}